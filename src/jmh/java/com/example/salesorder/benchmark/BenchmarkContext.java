@@ -0,0 +1,121 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.SalesOrderApiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application without a web server against a private in-memory H2 database and
+ * seeds it with a deterministic data set. Benchmarks create one per trial and close it afterwards.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static BenchmarkContext start(String... extraProperties) {
+        return start(WebApplicationType.NONE, inMemoryUrl(), extraProperties);
+    }
+
+    /**
+     * Same as {@link #start(String...)} but against the given H2 database, e.g. a file-backed one
+     * where commits have to reach the disk.
+     */
+    public static BenchmarkContext startOn(String jdbcUrl, String... extraProperties) {
+        return start(WebApplicationType.NONE, jdbcUrl, extraProperties);
+    }
+
+    /**
+     * Same as {@link #start(String...)} but with the embedded web server listening on a random port.
+     */
+    public static BenchmarkContext startServer(String... extraProperties) {
+        String[] properties = Arrays.copyOf(extraProperties, extraProperties.length + 1);
+        properties[extraProperties.length] = "server.port=0";
+        return start(WebApplicationType.SERVLET, inMemoryUrl(), properties);
+    }
+
+    private static String inMemoryUrl() {
+        return "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    }
+
+    private static BenchmarkContext start(WebApplicationType webApplicationType, String jdbcUrl,
+                                          String... extraProperties) {
+        // Passed as command line arguments so that they override application-test.yml
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.salesorder=WARN"));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SalesOrderApiApplication.class)
+                .web(webApplicationType)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+        return new BenchmarkContext(context);
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Seeds {@code customers} customers, {@code catalogItems} catalog items and {@code orders}
+     * orders with {@code itemsPerOrder} lines each, using set-based inserts so that even millions
+     * of orders load in seconds. Orders are spread over the last {@code days} days and every
+     * tenth order is cancelled. Id sequences are moved past the seeded ids.
+     */
+    public void seed(int customers, int catalogItems, int orders, int itemsPerOrder, int days) {
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        jdbc.update("DELETE FROM order_item");
+        jdbc.update("DELETE FROM sales_order");
+        jdbc.update("DELETE FROM catalog_item");
+        jdbc.update("DELETE FROM customer");
+
+        jdbc.update("INSERT INTO customer (id, name) SELECT X, 'Customer ' || X FROM SYSTEM_RANGE(1, ?)", customers);
+        jdbc.update("INSERT INTO catalog_item (id, sku, name, price, updated_at) "
+                + "SELECT X, 'SKU-' || X, 'Item ' || X, CAST(1 + MOD(X * 7, 100) + 0.99 AS DECIMAL(19,2)), CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, ?)", catalogItems);
+        jdbc.update("INSERT INTO sales_order (id, order_reference, customer_id, subtotal, vat, total, created_at, cancelled_at, status, version) "
+                + "SELECT X, RANDOM_UUID(), 1 + MOD(X, ?), 100.00, 15.00, 115.00, "
+                + "DATEADD('SECOND', -MOD(X * 7919, ? * 86400), CURRENT_TIMESTAMP), "
+                + "CASE WHEN MOD(X, 10) = 0 THEN CURRENT_TIMESTAMP END, "
+                + "CASE WHEN MOD(X, 10) = 0 THEN 'CANCELLED' ELSE 'CREATED' END, 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", customers, days, orders);
+        jdbc.update("INSERT INTO order_item (id, order_id, catalog_item_id, item_name, item_price, quantity, total_price) "
+                + "SELECT X, 1 + (X - 1) / ?, 1 + MOD(X, ?), 'Item', 50.00, 2, 100.00 "
+                + "FROM SYSTEM_RANGE(1, ?)", itemsPerOrder, catalogItems, (long) orders * itemsPerOrder);
+
+        restartSequence(jdbc, "customer_seq", customers);
+        restartSequence(jdbc, "catalog_item_seq", catalogItems);
+        restartSequence(jdbc, "sales_order_seq", orders);
+        restartSequence(jdbc, "order_item_seq", (long) orders * itemsPerOrder);
+        jdbc.execute("ANALYZE");
+    }
+
+    private static void restartSequence(JdbcTemplate jdbc, String sequence, long maxId) {
+        // Pooled optimizer: a sequence value N reserves ids N-49..N
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 50));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.domain.OrderItem;
+import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.dto.PageResponse;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-memory pages of loaded orders for benchmarks that leave the database out.
+ */
+final class BenchmarkOrders {
+
+    static final int CUSTOMERS = 50;
+
+    private BenchmarkOrders() {
+    }
+
+    /**
+     * A first page of {@code pageSize} orders with {@code itemsPerOrder} items each, of
+     * {@link #CUSTOMERS} customers; every tenth order is cancelled.
+     */
+    static PageResponse<SalesOrder> page(int pageSize, int itemsPerOrder) {
+        List<SalesOrder> orders = new ArrayList<>(pageSize);
+        Instant now = Instant.now();
+        for (long id = 1; id <= pageSize; id++) {
+            SalesOrder order = new SalesOrder();
+            order.setId(id);
+            order.setOrderReference(UUID.randomUUID().toString());
+            order.setCustomerId(id % CUSTOMERS);
+            order.setSubtotal(new BigDecimal("150.00"));
+            order.setVat(new BigDecimal("22.50"));
+            order.setTotal(new BigDecimal("172.50"));
+            order.setCreatedAt(now.minusSeconds(id * 3_600));
+            order.setCancelledAt(id % 10 == 0 ? now : null);
+            order.setStatus(id % 10 == 0 ? "CANCELLED" : "CREATED");
+            for (int i = 0; i < itemsPerOrder; i++) {
+                OrderItem item = new OrderItem();
+                item.setId(id * itemsPerOrder + i);
+                item.setItemName("Item " + i);
+                item.setItemPrice(new BigDecimal("25.00"));
+                item.setQuantity(2);
+                item.setTotalPrice(new BigDecimal("50.00"));
+                order.addItem(item);
+            }
+            orders.add(order);
+        }
+        return new PageResponse<>(orders, 0, pageSize, 1_000_000L, 1_000_000 / pageSize, true, false);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.util.DateFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of the creation and cancellation dates of a 10k-order page: the previous per-call
+ * {@code ZoneId.systemDefault()} formatting against the cached {@link DateFormatter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateFormatterBenchmark {
+
+    private static final int PAGE_SIZE = 10_000;
+    private static final DateTimeFormatter PREVIOUS_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final Instant[] createdAt = new Instant[PAGE_SIZE];
+    private final Instant[] cancelledAt = new Instant[PAGE_SIZE];
+    private DateFormatter dayMonthYear;
+    private DateFormatter iso;
+
+    @Setup
+    public void setUp() {
+        // A page of the last 90 days, one order in ten cancelled a few hours after creation
+        Random random = new Random(42);
+        Instant now = Instant.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            createdAt[i] = now.minus(random.nextInt(90 * 24 * 60), ChronoUnit.MINUTES);
+            cancelledAt[i] = i % 10 == 0 ? createdAt[i].plus(random.nextInt(48), ChronoUnit.HOURS) : null;
+        }
+        dayMonthYear = new DateFormatter(ZoneId.systemDefault(), DateFormatter.Style.DAY_MONTH_YEAR);
+        iso = new DateFormatter(ZoneId.systemDefault(), DateFormatter.Style.ISO);
+    }
+
+    @Benchmark
+    public void previousImplementation(Blackhole blackhole) {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            blackhole.consume(previousFormat(createdAt[i]));
+            blackhole.consume(previousFormat(cancelledAt[i]));
+        }
+    }
+
+    @Benchmark
+    public void cachedDayMonthYear(Blackhole blackhole) {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            blackhole.consume(dayMonthYear.formatInstant(createdAt[i]));
+            blackhole.consume(dayMonthYear.formatInstant(cancelledAt[i]));
+        }
+    }
+
+    @Benchmark
+    public void cachedIso(Blackhole blackhole) {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            blackhole.consume(iso.formatInstant(createdAt[i]));
+            blackhole.consume(iso.formatInstant(cancelledAt[i]));
+        }
+    }
+
+    private static String previousFormat(Instant instant) {
+        if (instant == null) {
+            return null;
+        }
+        LocalDate date = instant.atZone(ZoneId.systemDefault()).toLocalDate();
+        return date.format(PREVIOUS_FORMATTER);
+    }
+}
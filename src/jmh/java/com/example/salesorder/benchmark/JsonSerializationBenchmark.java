@@ -0,0 +1,83 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.dto.PageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a single order and of a page of orders, as written by the controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"3"})
+    public int itemsPerOrder;
+
+    private ObjectWriter orderWriter;
+    private ObjectWriter pageWriter;
+    private OrderResponse order;
+    private PageResponse<OrderResponse> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+        orderWriter = mapper.writerFor(OrderResponse.class);
+        pageWriter = mapper.writerFor(PageResponse.class);
+
+        List<OrderResponse> orders = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            orders.add(order(id));
+        }
+        order = orders.get(0);
+        page = new PageResponse<>(orders, 0, pageSize, 1_000_000L, 1_000_000 / pageSize, true, false);
+    }
+
+    @Benchmark
+    public byte[] singleOrder() throws JsonProcessingException {
+        return orderWriter.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] orderPage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    private OrderResponse order(long id) {
+        List<OrderResponse.OrderItemResponse> items = new ArrayList<>(itemsPerOrder);
+        for (long i = 1; i <= itemsPerOrder; i++) {
+            items.add(new OrderResponse.OrderItemResponse(id * 10 + i, "Item " + i,
+                    new BigDecimal("19.99"), 2, new BigDecimal("39.98")));
+        }
+        return new OrderResponse(id, UUID.randomUUID().toString(), 42L, "Customer 42", items,
+                new BigDecimal("119.94"), new BigDecimal("17.991"), new BigDecimal("137.931"),
+                "16/10/2026", null, "CREATED");
+    }
+}
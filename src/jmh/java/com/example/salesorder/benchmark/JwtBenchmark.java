@@ -0,0 +1,76 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.config.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT handling: the previous implementation (key and parser rebuilt and the token parsed
+ * once per accessor) against {@link JwtTokenProvider#resolveClaims} on a cache hit and a cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider nonCachingProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = new JwtTokenProvider(SECRET, 3_600_000, 10_000);
+        nonCachingProvider = new JwtTokenProvider(SECRET, 3_600_000, 0);
+        token = cachingProvider.generateToken("admin", "ADMIN");
+        cachingProvider.resolveClaims(token);
+    }
+
+    @Benchmark
+    public String previousImplementation() {
+        // validateToken, getUsernameFromToken and getRoleFromToken each built a key and parsed the token
+        for (int i = 0; i < 2; i++) {
+            parseWithFreshKey(token);
+        }
+        Claims claims = parseWithFreshKey(token);
+        return claims.getSubject() + claims.get("role", String.class);
+    }
+
+    @Benchmark
+    public String resolveClaimsCached() {
+        Claims claims = cachingProvider.resolveClaims(token);
+        return claims.getSubject() + claims.get("role", String.class);
+    }
+
+    @Benchmark
+    public String resolveClaimsUncached() {
+        Claims claims = nonCachingProvider.resolveClaims(token);
+        return claims.getSubject() + claims.get("role", String.class);
+    }
+
+    private static Claims parseWithFreshKey(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
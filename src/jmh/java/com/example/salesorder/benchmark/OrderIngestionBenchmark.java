@@ -0,0 +1,100 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.service.OrderIngestionQueue;
+import com.example.salesorder.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Orders created per second by 32 concurrent callers, each order in its own transaction
+ * ({@code direct}) vs committed in groups by {@link OrderIngestionQueue} ({@code group-commit}),
+ * against an in-memory and a file-backed H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class OrderIngestionBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final int CATALOG_ITEMS = 500;
+
+    @Param({"direct", "group-commit"})
+    public String mode;
+
+    @Param({"mem", "file"})
+    public String database;
+
+    private Path directory;
+    private BenchmarkContext context;
+    private OrderService orderService;
+    private OrderIngestionQueue orderIngestionQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String modeProperty = "app.order-ingestion.mode=" + mode;
+        if ("file".equals(database)) {
+            directory = Files.createTempDirectory("order-ingestion-bench");
+            context = BenchmarkContext.startOn("jdbc:h2:file:" + directory.resolve("orders") + ";MODE=PostgreSQL",
+                    modeProperty);
+        } else {
+            context = BenchmarkContext.start(modeProperty);
+        }
+        context.seed(CUSTOMERS, CATALOG_ITEMS, 0, 3, 1);
+        orderService = context.bean(OrderService.class);
+        if ("group-commit".equals(mode)) {
+            orderIngestionQueue = context.bean(OrderIngestionQueue.class);
+        }
+        // Creates today's sales summary row, concurrent first inserts of it race on the merge
+        orderService.createOrder(new CreateOrderRequest(1L, List.of(new OrderItemRequest(1L, 1))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CreateOrderRequest request = new CreateOrderRequest(1L + random.nextInt(CUSTOMERS), List.of(
+                new OrderItemRequest(1L + random.nextInt(CATALOG_ITEMS), 1 + random.nextInt(5)),
+                new OrderItemRequest(1L + random.nextInt(CATALOG_ITEMS), 1 + random.nextInt(5)),
+                new OrderItemRequest(1L + random.nextInt(CATALOG_ITEMS), 1 + random.nextInt(5))));
+        return orderIngestionQueue != null
+                ? orderIngestionQueue.createOrder(request)
+                : orderService.createOrder(request);
+    }
+}
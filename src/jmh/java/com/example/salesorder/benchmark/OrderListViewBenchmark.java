@@ -0,0 +1,85 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.dto.OrderFields;
+import com.example.salesorder.dto.OrderQueryParams;
+import com.example.salesorder.service.OrderService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of orders loaded and serialized as {@code GET /orders} does, with all fields versus
+ * {@code view=summary}. The payload size of both views is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrderListViewBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    private BenchmarkContext context;
+    private OrderService orderService;
+    private JsonFactory jsonFactory;
+    private OrderQueryParams params;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start();
+        context.seed(1_000, 1_000, 100_000, itemsPerOrder, 365);
+        orderService = context.bean(OrderService.class);
+        jsonFactory = context.bean(ObjectMapper.class).getFactory();
+        params = new OrderQueryParams(null, null, null, null, 10, pageSize, "createdAt", "desc", null);
+
+        System.out.printf("%nPayload of %d orders: full %d bytes, summary %d bytes%n",
+                pageSize, write(OrderFields.ALL).length, write(OrderFields.SUMMARY).length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] fullView() throws IOException {
+        return write(OrderFields.ALL);
+    }
+
+    @Benchmark
+    public byte[] summaryView() throws IOException {
+        return write(OrderFields.SUMMARY);
+    }
+
+    // Same path as OrderController
+    private byte[] write(OrderFields fields) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            orderService.loadOrderPage(params, fields).writeTo(generator);
+        }
+        return out.toByteArray();
+    }
+}
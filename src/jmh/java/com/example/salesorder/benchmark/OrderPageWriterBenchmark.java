@@ -0,0 +1,105 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.dto.OrderFields;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.service.OrderPageWriter;
+import com.example.salesorder.util.DateFormatter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a page of loaded orders: mapped to {@code OrderResponse} records and serialized with
+ * Jackson databind, as {@code listOrders} is, versus written from the entities by
+ * {@link OrderPageWriter}. The database is left out so only the serialization paths are compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPageWriterBenchmark {
+
+    @Param({"20", "200", "2000"})
+    public int pageSize;
+
+    @Param({"3"})
+    public int itemsPerOrder;
+
+    private DateFormatter dateFormatter;
+    private OrderPageWriter pageWriter;
+    private ObjectWriter databindWriter;
+    private JsonFactory jsonFactory;
+    private PageResponse<SalesOrder> page;
+    private Map<Long, String> customerNames;
+
+    @Setup
+    public void setUp() {
+        dateFormatter = new DateFormatter(ZoneId.of("UTC"), DateFormatter.Style.DAY_MONTH_YEAR);
+        pageWriter = new OrderPageWriter(dateFormatter);
+        ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+        databindWriter = mapper.writerFor(PageResponse.class);
+        jsonFactory = mapper.getFactory();
+
+        page = BenchmarkOrders.page(pageSize, itemsPerOrder);
+        customerNames = new HashMap<>();
+        for (long customerId = 0; customerId < BenchmarkOrders.CUSTOMERS; customerId++) {
+            customerNames.put(customerId, "Customer " + customerId);
+        }
+    }
+
+    @Benchmark
+    public void databind() throws IOException {
+        List<OrderResponse> content = new ArrayList<>(page.content().size());
+        for (SalesOrder order : page.content()) {
+            content.add(toResponse(order));
+        }
+        databindWriter.writeValue(OutputStream.nullOutputStream(), new PageResponse<>(content, page.page(), page.size(),
+                page.totalElements(), page.totalPages(), page.first(), page.last(), page.nextCursor()));
+    }
+
+    @Benchmark
+    public void streaming() throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(OutputStream.nullOutputStream())) {
+            pageWriter.writeOrders(page, customerNames, OrderFields.ALL, generator);
+        }
+    }
+
+    // Same mapping as OrderService
+    private OrderResponse toResponse(SalesOrder order) {
+        List<OrderResponse.OrderItemResponse> items = order.getItems().stream()
+                .map(it -> new OrderResponse.OrderItemResponse(
+                        it.getId(), it.getItemName(), it.getItemPrice(), it.getQuantity(), it.getTotalPrice()))
+                .toList();
+        return new OrderResponse(order.getId(), order.getOrderReference(), order.getCustomerId(),
+                customerNames.getOrDefault(order.getCustomerId(), "Unknown"), items,
+                order.getSubtotal(), order.getVat(), order.getTotal(),
+                dateFormatter.formatInstant(order.getCreatedAt()), dateFormatter.formatInstant(order.getCancelledAt()),
+                order.getStatus());
+    }
+}
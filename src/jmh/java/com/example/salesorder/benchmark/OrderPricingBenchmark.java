@@ -0,0 +1,75 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.service.OrderPricing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing of the lines of one order: the previous {@code BigDecimal} path against {@link OrderPricing}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    private static final BigDecimal VAT_RATE = new BigDecimal("0.15");
+
+    @Param({"1", "50", "1000"})
+    public int lines;
+
+    private final OrderPricing orderPricing = new OrderPricing(VAT_RATE);
+    private BigDecimal[] prices;
+    private long[] pricesMinor;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prices = new BigDecimal[lines];
+        pricesMinor = new long[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            prices[i] = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            pricesMinor[i] = OrderPricing.toMinorUnits(prices[i]);
+            quantities[i] = 1 + random.nextInt(20);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal previousImplementation(Blackhole blackhole) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal totalPrice = prices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            blackhole.consume(totalPrice);
+            subtotal = subtotal.add(totalPrice);
+        }
+        BigDecimal vat = subtotal.multiply(VAT_RATE);
+        return subtotal.add(vat);
+    }
+
+    @Benchmark
+    public BigDecimal orderPricing(Blackhole blackhole) {
+        OrderPricing.Calculation calculation = orderPricing.newCalculation();
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(calculation.addLine(pricesMinor[i], prices[i], quantities[i]));
+        }
+        return calculation.total();
+    }
+}
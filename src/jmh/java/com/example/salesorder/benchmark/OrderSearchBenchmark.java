@@ -0,0 +1,93 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.dto.OrderQueryParams;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order search over a large table: a deep offset page versus the equivalent keyset page, and a
+ * narrow creation date range that should be served from {@code idx_sales_order_created_at}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrderSearchBenchmark {
+
+    @Param({"1000000"})
+    public int orders;
+
+    @Param({"2000"})
+    public int deepPage;
+
+    private BenchmarkContext context;
+    private OrderService orderService;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        context.seed(10_000, 1_000, orders, 1, 365);
+        orderService = context.bean(OrderService.class);
+
+        // Walk to the keyset position matching the deep offset page once, outside the measurement
+        String cursor = "";
+        for (int i = 0; i < deepPage; i++) {
+            cursor = orderService.listOrders(keyset(cursor)).nextCursor();
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageResponse<OrderResponse> offsetFirstPage() {
+        return orderService.listOrders(offset(0));
+    }
+
+    @Benchmark
+    public PageResponse<OrderResponse> offsetDeepPage() {
+        return orderService.listOrders(offset(deepPage));
+    }
+
+    @Benchmark
+    public PageResponse<OrderResponse> keysetDeepPage() {
+        return orderService.listOrders(keyset(deepCursor));
+    }
+
+    @Benchmark
+    public PageResponse<OrderResponse> creationDateRange() {
+        LocalDate day = LocalDate.now().minusDays(30);
+        return orderService.listOrders(new OrderQueryParams(day, day, null, null, 0, 20, "createdAt", "desc", null));
+    }
+
+    private static OrderQueryParams offset(int page) {
+        return new OrderQueryParams(null, null, null, null, page, 20, "createdAt", "desc", null);
+    }
+
+    private static OrderQueryParams keyset(String cursor) {
+        return new OrderQueryParams(null, null, null, null, null, 20, "createdAt", "desc", cursor);
+    }
+}
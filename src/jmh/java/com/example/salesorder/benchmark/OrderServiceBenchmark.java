@@ -0,0 +1,81 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderQueryParams;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service benchmarks (service, JPA and H2) for the order create, read and list paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final int CATALOG_ITEMS = 500;
+
+    @Param({"10000"})
+    public int orders;
+
+    @Param({"3"})
+    public int itemsPerOrder;
+
+    private BenchmarkContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        context.seed(CUSTOMERS, CATALOG_ITEMS, orders, itemsPerOrder, 365);
+        orderService = context.bean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderItemRequest> items = List.of(
+                new OrderItemRequest(1L + random.nextInt(CATALOG_ITEMS), 1 + random.nextInt(5)),
+                new OrderItemRequest(1L + random.nextInt(CATALOG_ITEMS), 1 + random.nextInt(5)),
+                new OrderItemRequest(1L + random.nextInt(CATALOG_ITEMS), 1 + random.nextInt(5)));
+        return orderService.createOrder(new CreateOrderRequest(1L + random.nextInt(CUSTOMERS), items));
+    }
+
+    @Benchmark
+    public OrderResponse getOrderById() {
+        return orderService.getOrderById(1L + ThreadLocalRandom.current().nextInt(orders));
+    }
+
+    @Benchmark
+    public PageResponse<OrderResponse> listOrdersFirstPage() {
+        return orderService.listOrders(new OrderQueryParams(null, null, null, null, 0, 20, "createdAt", "desc", null));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.dto.OrderFields;
+import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.service.OrderPageWriter;
+import com.example.salesorder.util.DateFormatter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A page of orders written by {@link OrderPageWriter} as JSON, CBOR and Smile, each with and
+ * without gzip as applied by the server. Bytes on the wire are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private OrderPageWriter pageWriter;
+    private JsonFactory factory;
+    private PageResponse<SalesOrder> page;
+    private Map<Long, String> customerNames;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        pageWriter = new OrderPageWriter(new DateFormatter(ZoneId.of("UTC"), DateFormatter.Style.DAY_MONTH_YEAR));
+        factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        page = BenchmarkOrders.page(pageSize, 3);
+        customerNames = new HashMap<>();
+        for (long customerId = 0; customerId < BenchmarkOrders.CUSTOMERS; customerId++) {
+            customerNames.put(customerId, "Customer " + customerId);
+        }
+        buffer = new ByteArrayOutputStream(256 * 1024);
+
+        System.out.printf("%n%s%s, %d orders: %d bytes on the wire%n",
+                format, gzip ? "+gzip" : "", pageSize, write().length);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        buffer.reset();
+        OutputStream out = gzip ? new GZIPOutputStream(buffer, 8 * 1024) : buffer;
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            pageWriter.writeOrders(page, customerNames, OrderFields.ALL, generator);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.salesorder.benchmark;
+
+import com.example.salesorder.config.JwtTokenProvider;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load test comparing the default platform thread mode with
+ * {@code app.virtual-threads.enabled=true}. For each mode it starts the application on a random
+ * port against a seeded in-memory H2 database, drives it with {@code loadtest.clients} concurrent
+ * clients issuing a mix of get-by-id and first-page requests, and prints throughput and latency
+ * percentiles.
+ * <p>
+ * Settings are system properties: {@code loadtest.clients} (default 400), {@code loadtest.warmup}
+ * and {@code loadtest.duration} in seconds (default 10 and 30), {@code loadtest.orders} (default
+ * 50000). Program arguments are passed to both application runs as extra properties, for example
+ * {@code spring.datasource.hikari.maximum-pool-size=10}.
+ * <p>
+ * All clients share one admin token, so rate limiting and admission control
+ * ({@code app.rate-limit.*}) are turned off unless an argument sets one of their properties;
+ * otherwise the test would mostly measure 429 and 503 responses.
+ */
+public final class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final int ORDERS = Integer.getInteger("loadtest.orders", 50_000);
+
+    private VirtualThreadLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            List<String> properties = new ArrayList<>(List.of(args));
+            properties.add("app.virtual-threads.enabled=" + virtualThreads);
+            if (properties.stream().noneMatch(property -> property.startsWith("app.rate-limit."))) {
+                properties.add("app.rate-limit.enabled=false");
+            }
+            try (BenchmarkContext context = BenchmarkContext.startServer(properties.toArray(String[]::new))) {
+                context.seed(1_000, 500, ORDERS, 3, 365);
+                String token = context.bean(JwtTokenProvider.class).generateToken("admin", "ADMIN");
+                String baseUrl = "http://localhost:" + context.port() + "/api/v1/orders";
+
+                run(baseUrl, token, WARMUP_SECONDS);
+                Result result = run(baseUrl, token, DURATION_SECONDS);
+                results.add(result.format(virtualThreads ? "virtual" : "platform"));
+            }
+        }
+
+        System.out.printf("%n%-10s %10s %10s %12s %10s %10s %10s %10s%n",
+                "mode", "clients", "requests", "throughput/s", "errors", "p50 ms", "p99 ms", "max ms");
+        results.forEach(System.out::println);
+    }
+
+    private static Result run(String baseUrl, String token, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        List<Future<long[]>> workers = new ArrayList<>(CLIENTS);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                workers.add(executor.submit(() -> drive(client, baseUrl, token, deadline)));
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        // Each worker returns [errors, latency...]
+        long errors = 0;
+        int count = 0;
+        List<long[]> latencies = new ArrayList<>(CLIENTS);
+        for (Future<long[]> worker : workers) {
+            long[] samples = worker.get();
+            errors += samples[0];
+            count += samples.length - 1;
+            latencies.add(samples);
+        }
+        long[] all = new long[count];
+        int offset = 0;
+        for (long[] samples : latencies) {
+            System.arraycopy(samples, 1, all, offset, samples.length - 1);
+            offset += samples.length - 1;
+        }
+        Arrays.sort(all);
+        return new Result(all, errors, elapsed);
+    }
+
+    private static long[] drive(HttpClient client, String baseUrl, String token, long deadline) {
+        long[] samples = new long[1024];
+        int count = 1;
+        long errors = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String uri = random.nextInt(4) == 0
+                    ? baseUrl + "?size=20"
+                    : baseUrl + "/" + (1 + random.nextInt(ORDERS));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                }
+            } catch (Exception e) {
+                errors++;
+            }
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = System.nanoTime() - start;
+        }
+        samples[0] = errors;
+        return Arrays.copyOf(samples, count);
+    }
+
+    private record Result(long[] sortedLatencies, long errors, long elapsedNanos) {
+
+        String format(String mode) {
+            int requests = sortedLatencies.length;
+            return String.format("%-10s %10d %10d %12.1f %10d %10.2f %10.2f %10.2f", mode, CLIENTS, requests,
+                    requests / (elapsedNanos / 1e9), errors, percentile(0.50), percentile(0.99),
+                    requests == 0 ? 0 : sortedLatencies[requests - 1] / 1e6);
+        }
+
+        private double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
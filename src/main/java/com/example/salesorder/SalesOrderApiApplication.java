@@ -1,5 +1,6 @@
 package com.example.salesorder;
 
+import com.example.salesorder.config.ReplicaRouting;
 import com.example.salesorder.domain.CatalogItem;
 import com.example.salesorder.domain.Customer;
 import com.example.salesorder.repository.CatalogItemRepository;
@@ -18,10 +19,11 @@ public class SalesOrderApiApplication {
         SpringApplication.run(SalesOrderApiApplication.class, args);
     }
 
-    // Seed sample catalog items and customers for quick testing
+    // Seed sample catalog items and customers for quick testing; checked on the primary, a
+    // lagging read replica would seed twice
     @Bean
     public CommandLineRunner dataLoader(CatalogItemRepository catalogRepo, CustomerRepository customerRepo) {
-        return args -> {
+        return args -> ReplicaRouting.onPrimary(() -> {
             if (catalogRepo.count() == 0) {
                 catalogRepo.save(new CatalogItem("SKU-001", "Blue Widget", BigDecimal.valueOf(19.99)));
                 catalogRepo.save(new CatalogItem("SKU-002", "Red Widget", BigDecimal.valueOf(29.50)));
@@ -30,6 +32,6 @@ public class SalesOrderApiApplication {
                 customerRepo.save(new Customer("Alice"));
                 customerRepo.save(new Customer("Bob"));
             }
-        };
+        });
     }
 }
@@ -0,0 +1,95 @@
+package com.example.salesorder.config;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.service.CatalogItemCache;
+import com.example.salesorder.service.CustomerNameLookup;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Evicts written entities from the in-memory caches that hold them.
+ * <p>
+ * Registered with Hibernate's event listeners once the EntityManagerFactory is built, so the
+ * entities do not reference the caches. An entity is evicted as soon as the change is flushed and
+ * once more after commit, so an entry re-read by a concurrent request between the flush and the
+ * commit does not outlive the transaction.
+ */
+@Component
+public class EntityCacheInvalidator implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Class<?>, Consumer<Long>> evictors;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                  CatalogItemCache catalogItemCache,
+                                  CustomerNameLookup customerNameLookup) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.evictors = Map.of(
+                CatalogItem.class, catalogItemCache::evict,
+                Customer.class, customerNameLookup::evict);
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void evict(EntityPersister persister, Object id) {
+        Consumer<Long> evictor = evictors.get(persister.getMappedClass());
+        if (evictor == null || !(id instanceof Long entityId)) {
+            return;
+        }
+
+        evictor.accept(entityId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictor.accept(entityId);
+                }
+            });
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.salesorder.config;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,14 +16,27 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, MeterRegistry registry) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.validTokens = validationTimer(registry, "valid");
+        this.invalidTokens = validationTimer(registry, "invalid");
+    }
+
+    private static Timer validationTimer(MeterRegistry registry, String result) {
+        return Timer.builder("jwt.validation")
+                .description("Time to resolve the claims of a bearer token")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     @Override
@@ -28,9 +44,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String token = extractToken(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-            String role = jwtTokenProvider.getRoleFromToken(token);
+        Claims claims = null;
+        if (token != null) {
+            long start = System.nanoTime();
+            claims = jwtTokenProvider.resolveClaims(token);
+            (claims != null ? validTokens : invalidTokens).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (claims != null) {
+            String username = claims.getSubject();
+            String role = claims.get("role", String.class);
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     username, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))
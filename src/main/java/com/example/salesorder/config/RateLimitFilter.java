@@ -0,0 +1,180 @@
+package com.example.salesorder.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the API, placed after {@link JwtAuthenticationFilter} so that requests
+ * are turned away before they reach a controller or take a database connection.
+ * <ul>
+ *   <li>Each authenticated client, keyed by the token subject, gets a {@link TokenBucket} with the
+ *   limits of its role ({@code app.rate-limit.user.*}, {@code app.rate-limit.admin.*}). A request
+ *   over the limit is answered with {@code 429} and the seconds until the next token in
+ *   {@code Retry-After}. Buckets of clients idle for {@code app.rate-limit.idle-timeout} are
+ *   dropped; a bucket is full again by then anyway.</li>
+ *   <li>At most {@code app.rate-limit.max-concurrent-requests} requests are in flight at once. A
+ *   request that cannot get a slot within {@code app.rate-limit.queue-timeout} is answered with
+ *   {@code 503} and {@code Retry-After: 1}.</li>
+ * </ul>
+ * Only {@code /api/} requests are limited, so health checks and metric scrapes always get through.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Sustained requests per second and the number that may arrive at once for one client.
+     */
+    public record Limit(int permitsPerSecond, int burst) {
+    }
+
+    private final boolean enabled;
+    private final Map<Role, Limit> limits;
+    private final Cache<String, TokenBucket> buckets;
+    private final Semaphore slots;
+    private final long queueTimeoutNanos;
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    @Autowired
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.user.permits-per-second:50}") int userPermitsPerSecond,
+                           @Value("${app.rate-limit.user.burst:100}") int userBurst,
+                           @Value("${app.rate-limit.admin.permits-per-second:200}") int adminPermitsPerSecond,
+                           @Value("${app.rate-limit.admin.burst:400}") int adminBurst,
+                           @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                           @Value("${app.rate-limit.max-concurrent-requests:64}") int maxConcurrentRequests,
+                           @Value("${app.rate-limit.queue-timeout:50ms}") Duration queueTimeout,
+                           MeterRegistry registry) {
+        this(enabled, Map.of(Role.USER, new Limit(userPermitsPerSecond, userBurst),
+                        Role.ADMIN, new Limit(adminPermitsPerSecond, adminBurst)),
+                idleTimeout, maxConcurrentRequests, queueTimeout, registry);
+    }
+
+    RateLimitFilter(boolean enabled, Map<Role, Limit> limits, Duration idleTimeout, int maxConcurrentRequests,
+                    Duration queueTimeout, MeterRegistry registry) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive: " + maxConcurrentRequests);
+        }
+        this.enabled = enabled;
+        this.limits = Map.copyOf(limits);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.slots = new Semaphore(maxConcurrentRequests, true);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.admitted = admissionCounter(registry, "admitted");
+        this.rateLimited = admissionCounter(registry, "rate_limited");
+        this.overloaded = admissionCounter(registry, "overloaded");
+        Gauge.builder("admission.in.flight", slots, s -> maxConcurrentRequests - s.availablePermits())
+                .description("API requests currently admitted")
+                .register(registry);
+        Gauge.builder("rate.limit.clients", buckets, Cache::estimatedSize)
+                .description("Clients with a rate limit bucket")
+                .register(registry);
+    }
+
+    private static Counter admissionCounter(MeterRegistry registry, String result) {
+        return Counter.builder("admission.requests")
+                .description("API requests admitted or rejected by the rate and concurrency limits")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(request.getContextPath() + API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            Limit limit = limitOf(authentication);
+            if (limit != null) {
+                long now = System.nanoTime();
+                long waitNanos = buckets.get(authentication.getName(),
+                        subject -> new TokenBucket(limit.permitsPerSecond(), limit.burst(), now)).tryAcquire(now);
+                if (waitNanos > 0) {
+                    rateLimited.increment();
+                    reject(response, HttpStatus.TOO_MANY_REQUESTS, seconds(waitNanos), "Rate limit exceeded");
+                    return;
+                }
+            }
+        }
+
+        if (!acquireSlot()) {
+            overloaded.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server busy");
+            return;
+        }
+        admitted.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private Limit limitOf(Authentication authentication) {
+        // The highest limit of the roles in the token
+        Limit highest = null;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            for (Map.Entry<Role, Limit> entry : limits.entrySet()) {
+                if (("ROLE_" + entry.getKey().name()).equals(authority.getAuthority())
+                        && (highest == null || entry.getValue().permitsPerSecond() > highest.permitsPerSecond())) {
+                    highest = entry.getValue();
+                }
+            }
+        }
+        return highest;
+    }
+
+    private boolean acquireSlot() {
+        try {
+            return slots.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message + ", retry after " + retryAfterSeconds + "s");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.salesorder.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the number of JDBC statements and the time spent executing them per Hibernate session,
+ * which with open-session-in-view is one HTTP request.
+ * <p>
+ * Registered through {@code hibernate.session.events.auto}, so Hibernate creates one instance per
+ * session. Meters go to the global registry because Hibernate, not Spring, instantiates the listener.
+ */
+public class StatementMetricsSessionListener implements SessionEventListener {
+
+    private static final DistributionSummary STATEMENTS = DistributionSummary.builder("db.session.statements")
+            .description("JDBC statements executed per session")
+            .publishPercentileHistogram()
+            .maximumExpectedValue(1_000.0)
+            .register(Metrics.globalRegistry);
+
+    private static final Timer STATEMENT_TIME = Timer.builder("db.session.statement.time")
+            .description("Time spent executing JDBC statements per session")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+
+    private int statements;
+    private long nanos;
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+        nanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+        nanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void end() {
+        // Sessions opened for requests that never touch the database are not interesting
+        if (statements > 0) {
+            STATEMENTS.record(statements);
+            STATEMENT_TIME.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
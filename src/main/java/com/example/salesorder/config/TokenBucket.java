@@ -0,0 +1,48 @@
+package com.example.salesorder.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket refilled at {@code permitsPerSecond} and holding at most {@code burst}
+ * tokens.
+ * <p>
+ * Instead of a token count and a refill timestamp the bucket keeps a single {@code long}: the
+ * {@link System#nanoTime()} at which it will be full again. Taking a token moves that instant one
+ * refill interval ahead; a request is refused while it would lie more than {@code burst}
+ * intervals in the future. Concurrent callers race on one compare-and-set.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int permitsPerSecond, int burst, long now) {
+        if (permitsPerSecond < 1 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive: "
+                    + permitsPerSecond + ", " + burst);
+        }
+        this.nanosPerToken = 1_000_000_000L / permitsPerSecond;
+        this.burstNanos = nanosPerToken * burst;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token at {@code now}.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now < 0 ? now : current) + nanosPerToken;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
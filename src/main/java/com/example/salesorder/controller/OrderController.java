@@ -1,33 +1,107 @@
 package com.example.salesorder.controller;
 
+import com.example.salesorder.dto.BatchCreateOrderRequest;
+import com.example.salesorder.dto.BatchOrderResponse;
 import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.ExportFormat;
+import com.example.salesorder.dto.OrderFields;
 import com.example.salesorder.dto.OrderQueryParams;
 import com.example.salesorder.dto.OrderResponse;
-import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.dto.SalesSummaryResponse;
+import com.example.salesorder.service.DailySalesSummaryService;
+import com.example.salesorder.service.IdempotencyService;
+import com.example.salesorder.service.OrderExportService;
+import com.example.salesorder.service.OrderIngestionQueue;
+import com.example.salesorder.service.OrderResponseCache;
 import com.example.salesorder.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
 import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 public class OrderController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final DailySalesSummaryService dailySalesSummaryService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final ResponseFormats responseFormats;
+    private final OrderIngestionQueue orderIngestionQueue;
 
-    public OrderController(OrderService orderService) { this.orderService = orderService; }
+    public OrderController(OrderService orderService,
+                           OrderExportService orderExportService,
+                           DailySalesSummaryService dailySalesSummaryService,
+                           IdempotencyService idempotencyService,
+                           ObjectMapper objectMapper,
+                           ResponseFormats responseFormats,
+                           ObjectProvider<OrderIngestionQueue> orderIngestionQueue) {
+        this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.dailySalesSummaryService = dailySalesSummaryService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.responseFormats = responseFormats;
+        this.orderIngestionQueue = orderIngestionQueue.getIfAvailable();
+    }
 
+    /**
+     * Creates an order. With an {@code Idempotency-Key} header, retries of the request return the
+     * order created by the first attempt, marked with {@code Idempotent-Replayed: true}. Without one,
+     * the order is committed together with concurrent orders when group commit is enabled.
+     */
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public OrderResponse createOrder(@RequestBody @Valid CreateOrderRequest req) {
-        return orderService.createOrder(req);
+    public ResponseEntity<OrderResponse> createOrder(
+            @RequestBody @Valid CreateOrderRequest req,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            Principal principal
+    ) {
+        if (idempotencyKey == null) {
+            OrderResponse order = orderIngestionQueue != null
+                    ? orderIngestionQueue.createOrder(req)
+                    : orderService.createOrder(req);
+            return ResponseEntity.status(HttpStatus.CREATED).body(order);
+        }
+        String scope = principal != null ? principal.getName() : "anonymous";
+        IdempotencyService.Result result = idempotencyService.createOrder(scope, idempotencyKey, req);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.order());
     }
 
+    @PostMapping("/batch")
+    public BatchOrderResponse createOrders(@RequestBody @Valid BatchCreateOrderRequest req) {
+        return orderService.createOrders(req.orders());
+    }
+
+    /**
+     * Lists orders. {@code fields} (comma separated {@link OrderResponse} field names) or
+     * {@code view=summary} restrict the orders to the given fields; the others are not loaded
+     * and are left out of the response. The page is written straight to the response stream,
+     * as JSON, CBOR or Smile depending on the {@code Accept} header.
+     */
     @GetMapping
-    public PageResponse<OrderResponse> listOrders(
+    public void listOrders(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate creationDateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate creationDateTo,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cancellationDateFrom,
@@ -35,23 +109,103 @@ public class OrderController {
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "20") Integer size,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDirection
-    ) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response
+    ) throws IOException, HttpMediaTypeNotAcceptableException {
+        OrderFields orderFields = OrderFields.parse(fields, view);
+        ResponseFormats.ResponseFormat format = responseFormats.negotiate(accept);
+        OrderQueryParams params = new OrderQueryParams(
+                creationDateFrom, creationDateTo,
+                cancellationDateFrom, cancellationDateTo,
+                page, size, sortBy, sortDirection, cursor
+        );
+        // Loaded first, so a failing query leaves the error response its own content type
+        OrderService.OrderPageContent orderPage = orderService.loadOrderPage(params, orderFields);
+        response.setContentType(format.mediaType().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Not closed on failure, so the exception handler can still write its response
+        JsonGenerator generator = format.mapper().getFactory().createGenerator(response.getOutputStream());
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        orderPage.writeTo(generator);
+        generator.close();
+    }
+
+    @GetMapping("/export")
+    public void exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate creationDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate creationDateTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cancellationDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cancellationDateTo,
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
         OrderQueryParams params = new OrderQueryParams(
                 creationDateFrom, creationDateTo,
                 cancellationDateFrom, cancellationDateTo,
-                page, size, sortBy, sortDirection
+                null, null, null, null, null
         );
-        return orderService.listOrders(params);
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders." + exportFormat.fileExtension());
+        orderExportService.export(params, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/summary")
+    public SalesSummaryResponse getSalesSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status
+    ) {
+        return dailySalesSummaryService.getSummary(from, to, status);
+    }
+
+    @PostMapping("/summary/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SalesSummaryResponse rebuildSalesSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return dailySalesSummaryService.rebuild(from, to);
     }
 
+    /**
+     * Returns the order with its version as ETag. A request whose {@code If-None-Match} matches
+     * gets an empty 304 response. JSON is served from the cached bytes; CBOR and Smile, when the
+     * {@code Accept} header prefers them, are encoded from the cached order once, kept with the
+     * cache entry and tagged separately.
+     */
     @GetMapping("/{id}")
-    public OrderResponse getOrderById(@PathVariable Long id) {
-        return orderService.getOrderById(id);
+    public ResponseEntity<byte[]> getOrderById(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) throws HttpMediaTypeNotAcceptableException {
+        ResponseFormats.ResponseFormat format = responseFormats.negotiate(accept);
+        OrderResponseCache.Entry order = orderService.getCachedOrderById(id);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT);
+        if (format == responseFormats.json()) {
+            return builder.eTag(order.etag()).body(order.json());
+        }
+        byte[] body = order.encoded(format.name(), json -> encode(json, format));
+        return builder.eTag("\"" + order.version() + "-" + format.name() + "\"").body(body);
     }
 
     @PostMapping("/{id}/cancel")
     public OrderResponse cancelOrder(@PathVariable Long id) {
         return orderService.cancelOrder(id);
     }
+
+    private byte[] encode(byte[] json, ResponseFormats.ResponseFormat format) {
+        try {
+            return format.mapper().writeValueAsBytes(objectMapper.readValue(json, OrderResponse.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
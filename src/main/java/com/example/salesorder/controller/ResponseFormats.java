@@ -0,0 +1,67 @@
+package com.example.salesorder.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.util.List;
+
+/**
+ * The representations of orders that handlers writing their own bodies offer: JSON, and the
+ * binary CBOR and Smile encodings of the same documents. The binary mappers are configured
+ * like the application's JSON mapper.
+ */
+@Component
+class ResponseFormats {
+
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ResponseFormat json;
+    private final List<ResponseFormat> formats;
+
+    ResponseFormats(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder) {
+        this.json = new ResponseFormat("json", MediaType.APPLICATION_JSON, objectMapper);
+        this.formats = List.of(
+                json,
+                new ResponseFormat("cbor", MediaType.APPLICATION_CBOR, mapperBuilder.getObject().factory(new CBORFactory()).build()),
+                new ResponseFormat("smile", SMILE, mapperBuilder.getObject().factory(new SmileFactory()).build()));
+    }
+
+    ResponseFormat json() {
+        return json;
+    }
+
+    /**
+     * Picks the format the {@code Accept} header prefers, JSON when it accepts anything.
+     */
+    ResponseFormat negotiate(String accept) throws HttpMediaTypeNotAcceptableException {
+        if (accept == null || accept.isBlank()) {
+            return json;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException(e.getMessage());
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (ResponseFormat format : formats) {
+                if (mediaType.includes(format.mediaType())) {
+                    return format;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(formats.stream().map(ResponseFormat::mediaType).toList());
+    }
+
+    record ResponseFormat(String name, MediaType mediaType, ObjectMapper mapper) {
+    }
+}
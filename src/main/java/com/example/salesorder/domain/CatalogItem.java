@@ -15,7 +15,8 @@ import java.time.Instant;
 @NoArgsConstructor
 public class CatalogItem {
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "catalog_item_seq")
+    @SequenceGenerator(name = "catalog_item_seq", sequenceName = "catalog_item_seq", allocationSize = 50)
     private Long id;
     
     private String sku;
@@ -29,4 +30,10 @@ public class CatalogItem {
         this.name = name;
         this.price = price;
     }
+
+    // updatedAt doubles as the version checked by the catalog item cache
+    @PreUpdate
+    void touch() {
+        this.updatedAt = Instant.now();
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.salesorder.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup of the orders created on one day that are currently in one status. Rows are maintained
+ * incrementally by {@link com.example.salesorder.service.DailySalesSummaryService}.
+ */
+@Entity
+@Table(name = "daily_sales_summary")
+@IdClass(DailySalesSummary.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailySalesSummary {
+    @Id
+    @Column(name = "summary_date")
+    private LocalDate summaryDate;
+
+    @Id
+    @Column(length = 50)
+    private String status;
+
+    private long orderCount;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal vat;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal total;
+
+    private long itemUnits;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate summaryDate;
+        private String status;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.salesorder.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * An {@code Idempotency-Key} that has been used to create an order, scoped to the caller.
+ * <p>
+ * Keys are only ever inserted: {@link #isNew()} is always true, so saving one persists it and a
+ * key stored concurrently by another instance fails on the primary key instead of being merged.
+ */
+@Entity
+@Table(name = "idempotency_key", indexes = @Index(name = "idx_idempotency_key_expires_at", columnList = "expiresAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyKey implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String key;
+
+    @Column(name = "order_reference", nullable = false, length = 36)
+    private String orderReference;
+
+    // SHA-256 of the request, to reject reuse of the key for a different request
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    private Instant createdAt;
+    private Instant expiresAt;
+
+    public IdempotencyKey(String key, String orderReference, String requestHash, Instant createdAt, Instant expiresAt) {
+        this.key = key;
+        this.orderReference = orderReference;
+        this.requestHash = requestHash;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.salesorder.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An order change waiting in the outbox to be published to downstream systems. Events are
+ * written in the transaction that changes the order and deleted once published.
+ */
+@Entity
+@Table(name = "order_event")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderEvent {
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_CANCELLED = "ORDER_CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_event_seq")
+    @SequenceGenerator(name = "order_event_seq", sequenceName = "order_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 30)
+    private String eventType;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "order_reference", nullable = false, length = 36)
+    private String orderReference;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(length = 50)
+    private String status;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    // Set while a dispatcher publishes the event; an expired claim makes it pending again
+    private Instant claimedUntil;
+
+    public static OrderEvent of(String eventType, SalesOrder order, Instant occurredAt) {
+        OrderEvent event = new OrderEvent();
+        event.setEventType(eventType);
+        event.setOrderId(order.getId());
+        event.setOrderReference(order.getOrderReference());
+        event.setCustomerId(order.getCustomerId());
+        event.setStatus(order.getStatus());
+        event.setTotal(order.getTotal());
+        event.setOccurredAt(occurredAt);
+        return event;
+    }
+}
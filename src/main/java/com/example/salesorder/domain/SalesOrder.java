@@ -12,13 +12,20 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "sales_order")
+@Table(name = "sales_order", indexes = {
+        @Index(name = "idx_sales_order_created_at", columnList = "createdAt, id"),
+        @Index(name = "idx_sales_order_total", columnList = "total, id"),
+        @Index(name = "idx_sales_order_cancelled_at", columnList = "cancelledAt"),
+        @Index(name = "idx_sales_order_status", columnList = "status"),
+        @Index(name = "idx_sales_order_customer_id", columnList = "customer_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class SalesOrder {
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_order_seq")
+    @SequenceGenerator(name = "sales_order_seq", sequenceName = "sales_order_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_reference", nullable = false, length = 36)
@@ -27,7 +34,7 @@ public class SalesOrder {
     @Column(name = "customer_id")
     private Long customerId;
 
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItem> items = new ArrayList<>();
 
     private BigDecimal subtotal;
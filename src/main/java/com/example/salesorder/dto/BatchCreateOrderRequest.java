@@ -0,0 +1,14 @@
+package com.example.salesorder.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Orders to create in one call. Individual orders are validated by the service so that an
+ * invalid order is reported in its result instead of rejecting the whole batch.
+ */
+public record BatchCreateOrderRequest(
+        @NotEmpty @Size(max = 1000) List<CreateOrderRequest> orders
+) {}
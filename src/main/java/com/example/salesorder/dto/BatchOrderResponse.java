@@ -0,0 +1,38 @@
+package com.example.salesorder.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record BatchOrderResponse(
+        int created,
+        int failed,
+        List<Result> results
+) {
+    public static final String STATUS_CREATED = "CREATED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    public static BatchOrderResponse of(List<Result> results) {
+        int created = (int) results.stream().filter(r -> STATUS_CREATED.equals(r.status())).count();
+        return new BatchOrderResponse(created, results.size() - created, results);
+    }
+
+    /**
+     * Outcome of the order at {@code index} in the request: the created order or the reason it failed.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(
+            int index,
+            String status,
+            OrderResponse order,
+            String error
+    ) {
+        public static Result created(int index, OrderResponse order) {
+            return new Result(index, STATUS_CREATED, order, null);
+        }
+
+        public static Result failed(int index, String error) {
+            return new Result(index, STATUS_FAILED, null, error);
+        }
+    }
+}
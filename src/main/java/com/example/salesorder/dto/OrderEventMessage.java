@@ -0,0 +1,34 @@
+package com.example.salesorder.dto;
+
+import com.example.salesorder.domain.OrderEvent;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An order event as published to downstream systems. {@code id} increases with every event and
+ * lets consumers drop duplicates, since delivery is at least once.
+ */
+public record OrderEventMessage(
+        Long id,
+        String type,
+        Long orderId,
+        String orderReference,
+        Long customerId,
+        String status,
+        BigDecimal total,
+        Instant occurredAt
+) {
+    public static OrderEventMessage from(OrderEvent event) {
+        return new OrderEventMessage(
+                event.getId(),
+                event.getEventType(),
+                event.getOrderId(),
+                event.getOrderReference(),
+                event.getCustomerId(),
+                event.getStatus(),
+                event.getTotal(),
+                event.getOccurredAt()
+        );
+    }
+}
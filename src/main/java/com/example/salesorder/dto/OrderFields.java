@@ -0,0 +1,70 @@
+package com.example.salesorder.dto;
+
+import com.example.salesorder.exception.BadRequestException;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link OrderResponse} fields requested with {@code fields=} or {@code view=}. The id is
+ * always included. Fields that are not requested are not loaded and are left out of the response.
+ */
+public record OrderFields(Set<String> names) {
+
+    private static final Set<String> FIELD_NAMES = Set.copyOf(Arrays.stream(OrderResponse.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .toList());
+
+    public static final OrderFields ALL = new OrderFields(FIELD_NAMES);
+
+    /**
+     * What the order grid shows: reference, customer, total and status.
+     */
+    public static final OrderFields SUMMARY = new OrderFields(Set.of("id", "orderReference", "customerName", "total", "status"));
+
+    public OrderFields {
+        names = Set.copyOf(names);
+    }
+
+    public static OrderFields parse(String fields, String view) {
+        boolean hasFields = fields != null && !fields.isBlank();
+        boolean hasView = view != null && !view.isBlank();
+        if (hasFields && hasView) {
+            throw new BadRequestException("Use either fields or view, not both");
+        }
+        if (hasView) {
+            return switch (view.trim().toLowerCase()) {
+                case "summary" -> SUMMARY;
+                case "full" -> ALL;
+                default -> throw new BadRequestException("Unsupported view: " + view);
+            };
+        }
+        if (!hasFields) {
+            return ALL;
+        }
+
+        Set<String> names = new LinkedHashSet<>(List.of("id"));
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELD_NAMES.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name);
+            }
+            names.add(name);
+        }
+        return new OrderFields(names);
+    }
+
+    public boolean isAll() {
+        return names.size() == FIELD_NAMES.size();
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+}
@@ -2,6 +2,10 @@ package com.example.salesorder.dto;
 
 import java.time.LocalDate;
 
+/**
+ * Order search parameters. When {@code cursor} is non-null (an empty cursor starts from the
+ * first order) keyset paging is used and {@code page} is ignored.
+ */
 public record OrderQueryParams(
         LocalDate creationDateFrom,
         LocalDate creationDateTo,
@@ -10,7 +14,8 @@ public record OrderQueryParams(
         Integer page,
         Integer size,
         String sortBy,
-        String sortDirection
+        String sortDirection,
+        String cursor
 ) {
     public OrderQueryParams {
         if (page == null || page < 0) page = 0;
@@ -18,5 +23,8 @@ public record OrderQueryParams(
         if (sortBy == null || sortBy.isBlank()) sortBy = "createdAt";
         if (sortDirection == null || sortDirection.isBlank()) sortDirection = "desc";
     }
-}
 
+    public boolean keysetMode() {
+        return cursor != null;
+    }
+}
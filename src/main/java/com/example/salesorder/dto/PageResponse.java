@@ -1,14 +1,30 @@
 package com.example.salesorder.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+/**
+ * A page of results. Offset pages carry {@code page}, {@code totalElements} and {@code totalPages};
+ * keyset slices leave those out and carry a {@code nextCursor} instead (absent on the last slice).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PageResponse<T>(
         List<T> content,
-        int page,
+        Integer page,
         int size,
-        long totalElements,
-        int totalPages,
+        Long totalElements,
+        Integer totalPages,
         boolean first,
-        boolean last
-) {}
+        boolean last,
+        String nextCursor
+) {
+    public PageResponse(List<T> content, int page, int size, long totalElements, int totalPages,
+                        boolean first, boolean last) {
+        this(content, page, size, totalElements, totalPages, first, last, null);
+    }
 
+    public static <T> PageResponse<T> slice(List<T> content, int size, boolean first, String nextCursor) {
+        return new PageResponse<>(content, null, size, null, null, first, nextCursor == null, nextCursor);
+    }
+}
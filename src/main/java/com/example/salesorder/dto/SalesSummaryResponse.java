@@ -0,0 +1,34 @@
+package com.example.salesorder.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sales totals of the orders created between {@code from} and {@code to} (inclusive), optionally
+ * restricted to one status, with the per day and status rows they were summed from.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SalesSummaryResponse(
+        LocalDate from,
+        LocalDate to,
+        String status,
+        long orderCount,
+        BigDecimal subtotal,
+        BigDecimal vat,
+        BigDecimal total,
+        long itemUnits,
+        List<Day> days
+) {
+    public record Day(
+            LocalDate date,
+            String status,
+            long orderCount,
+            BigDecimal subtotal,
+            BigDecimal vat,
+            BigDecimal total,
+            long itemUnits
+    ) {}
+}
@@ -1,8 +1,13 @@
 package com.example.salesorder.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -14,9 +19,33 @@ public class ApiExceptionHandler {
         if (ex instanceof NotFoundException nfe) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(nfe.getMessage());
         }
+        if (ex instanceof BadRequestException bre) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(bre.getMessage());
+        }
+        if (ex instanceof ConflictException ce) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ce.getMessage());
+        }
+        if (ex instanceof ServiceUnavailableException sue) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(sue.getMessage());
+        }
+        if (ex instanceof OptimisticLockingFailureException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("The resource was modified concurrently, please retry");
+        }
         if (ex instanceof MethodArgumentNotValidException manv) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Validation error: " + manv.getMessage());
         }
+        if (ex instanceof MissingServletRequestParameterException msrp) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(msrp.getMessage());
+        }
+        if (ex instanceof HttpMediaTypeNotAcceptableException) {
+            // No body: none of the representations the client accepts can be written
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        if (ex instanceof AccessDeniedException) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+        }
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal error: " + ex.getMessage());
     }
 }
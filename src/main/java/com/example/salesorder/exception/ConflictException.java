@@ -0,0 +1,5 @@
+package com.example.salesorder.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) { super(message); }
+}
@@ -0,0 +1,5 @@
+package com.example.salesorder.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) { super(message); }
+}
@@ -0,0 +1,7 @@
+package com.example.salesorder.repository;
+
+/**
+ * Projection of a customer to the name shown on its orders.
+ */
+public record CustomerName(Long id, String name) {
+}
@@ -2,8 +2,16 @@ package com.example.salesorder.repository;
 
 import com.example.salesorder.domain.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    @Query("SELECT new com.example.salesorder.repository.CustomerName(c.id, c.name) FROM Customer c WHERE c.id IN :ids")
+    List<CustomerName> findNamesByIdIn(@Param("ids") Collection<Long> ids);
 }
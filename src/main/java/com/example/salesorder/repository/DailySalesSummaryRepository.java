@@ -0,0 +1,51 @@
+package com.example.salesorder.repository;
+
+import com.example.salesorder.domain.DailySalesSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesSummaryRepository extends JpaRepository<DailySalesSummary, DailySalesSummary.Key> {
+
+    List<DailySalesSummary> findBySummaryDateBetweenOrderBySummaryDateAscStatusAsc(LocalDate from, LocalDate to);
+
+    List<DailySalesSummary> findBySummaryDateBetweenAndStatusOrderBySummaryDateAsc(LocalDate from, LocalDate to,
+                                                                                  String status);
+
+    /**
+     * Adds the given amounts to the row of {@code date} and {@code status}, creating it if needed.
+     * Negative amounts move orders out of the row.
+     */
+    @Modifying
+    @Query(value = """
+            MERGE INTO daily_sales_summary s
+            USING (VALUES (CAST(:date AS DATE), CAST(:status AS VARCHAR(50)), CAST(:orderCount AS BIGINT),
+                           CAST(:subtotal AS DECIMAL(19,2)), CAST(:vat AS DECIMAL(19,2)), CAST(:total AS DECIMAL(19,2)),
+                           CAST(:itemUnits AS BIGINT)))
+                AS d (summary_date, status, order_count, subtotal, vat, total, item_units)
+            ON s.summary_date = d.summary_date AND s.status = d.status
+            WHEN MATCHED THEN UPDATE SET
+                order_count = s.order_count + d.order_count,
+                subtotal = s.subtotal + d.subtotal,
+                vat = s.vat + d.vat,
+                total = s.total + d.total,
+                item_units = s.item_units + d.item_units
+            WHEN NOT MATCHED THEN INSERT (summary_date, status, order_count, subtotal, vat, total, item_units)
+                VALUES (d.summary_date, d.status, d.order_count, d.subtotal, d.vat, d.total, d.item_units)
+            """, nativeQuery = true)
+    int addToSummary(@Param("date") LocalDate date, @Param("status") String status,
+                     @Param("orderCount") long orderCount, @Param("subtotal") BigDecimal subtotal,
+                     @Param("vat") BigDecimal vat, @Param("total") BigDecimal total,
+                     @Param("itemUnits") long itemUnits);
+
+    @Modifying
+    @Query("DELETE FROM DailySalesSummary s WHERE s.summaryDate BETWEEN :from AND :to")
+    int deleteBySummaryDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
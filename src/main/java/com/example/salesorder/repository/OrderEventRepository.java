@@ -0,0 +1,38 @@
+package com.example.salesorder.repository;
+
+import com.example.salesorder.domain.OrderEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    /**
+     * Locks the oldest events that are not claimed by a dispatcher, or whose claim has expired.
+     * Rows locked by another dispatcher are skipped where the database supports it (lock timeout
+     * -2 is Hibernate's SKIP LOCKED), so instances claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OrderEvent e WHERE e.claimedUntil IS NULL OR e.claimedUntil < :now ORDER BY e.id")
+    List<OrderEvent> lockNextBatch(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Makes claimed events pending again, after their publication failed.
+     */
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+}
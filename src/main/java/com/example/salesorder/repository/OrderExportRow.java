@@ -0,0 +1,26 @@
+package com.example.salesorder.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One order item joined with its order and customer name, as read by the export scan.
+ * Orders without items produce a single row whose item columns are {@code null}.
+ */
+public record OrderExportRow(
+        Long orderId,
+        String orderReference,
+        Long customerId,
+        String customerName,
+        BigDecimal subtotal,
+        BigDecimal vat,
+        BigDecimal total,
+        Instant createdAt,
+        Instant cancelledAt,
+        String status,
+        Long itemId,
+        String itemName,
+        BigDecimal itemPrice,
+        Integer quantity,
+        BigDecimal itemTotalPrice
+) {}
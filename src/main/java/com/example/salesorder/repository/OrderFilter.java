@@ -0,0 +1,13 @@
+package com.example.salesorder.repository;
+
+import java.time.Instant;
+
+/**
+ * Resolved order search filters. A {@code null} bound means the filter is not applied.
+ */
+public record OrderFilter(
+        Instant creationDateFrom,
+        Instant creationDateTo,
+        Instant cancellationDateFrom,
+        Instant cancellationDateTo
+) {}
@@ -0,0 +1,6 @@
+package com.example.salesorder.repository;
+
+/**
+ * Position of an order in a keyset scan: its id and the value of the sort column.
+ */
+public record OrderKey(Long id, Comparable<?> sortValue) {}
@@ -0,0 +1,20 @@
+package com.example.salesorder.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The columns of an order without its items. Columns that were not selected are {@code null}.
+ */
+public record OrderSummaryRow(
+        Long id,
+        String orderReference,
+        Long customerId,
+        BigDecimal subtotal,
+        BigDecimal vat,
+        BigDecimal total,
+        Instant createdAt,
+        Instant cancelledAt,
+        String status
+) {
+}
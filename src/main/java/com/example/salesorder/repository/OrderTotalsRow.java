@@ -0,0 +1,17 @@
+package com.example.salesorder.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Amounts of one order and the number of units over all of its items, as read when the
+ * daily sales summary is rebuilt.
+ */
+public record OrderTotalsRow(
+        Instant createdAt,
+        String status,
+        BigDecimal subtotal,
+        BigDecimal vat,
+        BigDecimal total,
+        Long itemUnits
+) {}
@@ -1,31 +1,60 @@
 package com.example.salesorder.repository;
 
 import com.example.salesorder.domain.SalesOrder;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
-    
-    @Query("SELECT o FROM SalesOrder o WHERE " +
-           "(:creationDateFrom IS NULL OR o.createdAt >= :creationDateFrom) AND " +
-           "(:creationDateTo IS NULL OR o.createdAt <= :creationDateTo) AND " +
-           "(:cancellationDateFrom IS NULL OR o.cancelledAt IS NULL OR o.cancelledAt >= :cancellationDateFrom) AND " +
-           "(:cancellationDateTo IS NULL OR o.cancelledAt IS NULL OR o.cancelledAt <= :cancellationDateTo)")
-    Page<SalesOrder> findByFilters(
-            @Param("creationDateFrom") Instant creationDateFrom,
-            @Param("creationDateTo") Instant creationDateTo,
-            @Param("cancellationDateFrom") Instant cancellationDateFrom,
-            @Param("cancellationDateTo") Instant cancellationDateTo,
-            Pageable pageable
-    );
-    
+public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, SalesOrderRepositoryCustom {
+
+    /**
+     * Loads the given orders together with all of their items in a single statement.
+     * Result order is unspecified.
+     */
+    @Query("SELECT DISTINCT o FROM SalesOrder o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<SalesOrder> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = "items")
     Optional<SalesOrder> findById(Long id);
+
+    @EntityGraph(attributePaths = "items")
+    Optional<SalesOrder> findByOrderReference(String orderReference);
+
+    /**
+     * Cancels the order if it is not cancelled yet and still at the given version, bumping the version.
+     * Returns the number of updated rows, 0 if the order was cancelled or modified concurrently.
+     * The persistence context is cleared, so previously loaded orders are detached.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SalesOrder o SET o.status = 'CANCELLED', o.cancelledAt = :cancelledAt, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.version = :version AND (o.status IS NULL OR o.status <> 'CANCELLED')")
+    int cancelIfUnchanged(@Param("id") Long id, @Param("version") Long version, @Param("cancelledAt") Instant cancelledAt);
+
+    /**
+     * Streams the totals and item units of the orders created in {@code [from, to)}, one row per order.
+     */
+    @Query("SELECT new com.example.salesorder.repository.OrderTotalsRow("
+            + "o.createdAt, o.status, o.subtotal, o.vat, o.total, SUM(i.quantity)) "
+            + "FROM SalesOrder o LEFT JOIN o.items i "
+            + "WHERE o.createdAt >= :from AND o.createdAt < :to "
+            + "GROUP BY o.id, o.createdAt, o.status, o.subtotal, o.vat, o.total")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<OrderTotalsRow> streamTotalsCreatedBetween(@Param("from") Instant from, @Param("to") Instant to);
 }
@@ -0,0 +1,44 @@
+package com.example.salesorder.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface SalesOrderRepositoryCustom {
+
+    /**
+     * Returns only the ids of the requested page so that the orders, their items and
+     * customers can be loaded with a fixed number of set-based queries afterwards.
+     * Only the filters that are set end up in the SQL, which keeps the predicates sargable.
+     */
+    Page<Long> findIdsByFilter(OrderFilter filter, Pageable pageable);
+
+    /**
+     * Seeks the keys of the orders that follow {@code after} in {@code (sortBy, id)} order.
+     * Unlike offset paging the database never reads past the returned rows and no count
+     * query is issued.
+     *
+     * @param after position of the last order of the previous slice, or {@code null} to start
+     *              from the beginning
+     */
+    List<OrderKey> findKeysAfter(OrderFilter filter, String sortBy, boolean descending, OrderKey after, int limit);
+
+    /**
+     * Streams the orders matching the filter as flat item rows ordered by order id, then item id,
+     * so the rows of an order are adjacent. Rows are read through a forward-only cursor with the
+     * given fetch size and are not attached to the persistence context. The stream must be
+     * consumed inside a transaction and closed.
+     */
+    Stream<OrderExportRow> streamExportRows(OrderFilter filter, int fetchSize);
+
+    /**
+     * Loads the given orders without their items, selecting only the id and the named
+     * {@code columns} (attributes of {@code SalesOrder}); the other row columns are {@code null}.
+     * Result order is unspecified.
+     */
+    List<OrderSummaryRow> findSummaryRowsByIdIn(Collection<Long> ids, Set<String> columns);
+}
@@ -0,0 +1,190 @@
+package com.example.salesorder.repository;
+
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.domain.OrderItem;
+import com.example.salesorder.domain.SalesOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class SalesOrderRepositoryImpl implements SalesOrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIdsByFilter(OrderFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<SalesOrder> order = query.from(SalesOrder.class);
+        query.select(order.get("id"))
+                .where(filterPredicates(cb, query, order, filter).toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), order, cb));
+        List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(ids, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<SalesOrder> countRoot = count.from(SalesOrder.class);
+            count.select(cb.count(countRoot))
+                    .where(filterPredicates(cb, count, countRoot, filter).toArray(Predicate[]::new));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    @Override
+    public List<OrderKey> findKeysAfter(OrderFilter filter, String sortBy, boolean descending, OrderKey after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<SalesOrder> order = query.from(SalesOrder.class);
+        Path<Long> id = order.get("id");
+        Path<Comparable<Object>> sortColumn = order.get(sortBy);
+
+        List<Predicate> predicates = filterPredicates(cb, query, order, filter);
+        if (after != null) {
+            Predicate idAfter = after(cb, id, after.id(), descending);
+            if ("id".equals(sortBy)) {
+                predicates.add(idAfter);
+            } else {
+                @SuppressWarnings("unchecked")
+                Comparable<Object> value = (Comparable<Object>) after.sortValue();
+                predicates.add(cb.or(
+                        after(cb, sortColumn, value, descending),
+                        cb.and(cb.equal(sortColumn, value), idAfter)
+                ));
+            }
+        }
+
+        query.multiselect(id, sortColumn)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(descending ? cb.desc(sortColumn) : cb.asc(sortColumn),
+                         descending ? cb.desc(id) : cb.asc(id));
+
+        List<OrderKey> keys = new ArrayList<>(limit);
+        for (Tuple row : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+            keys.add(new OrderKey(row.get(0, Long.class), (Comparable<?>) row.get(1)));
+        }
+        return keys;
+    }
+
+    @Override
+    public Stream<OrderExportRow> streamExportRows(OrderFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<SalesOrder> order = query.from(SalesOrder.class);
+        Join<SalesOrder, OrderItem> item = order.join("items", JoinType.LEFT);
+        JpaEntityJoin<Customer> customer = ((JpaRoot<SalesOrder>) order).join(Customer.class, SqmJoinType.LEFT);
+        customer.on(cb.equal(customer.get("id"), order.get("customerId")));
+
+        query.multiselect(
+                        order.get("id"), order.get("orderReference"), order.get("customerId"), customer.get("name"),
+                        order.get("subtotal"), order.get("vat"), order.get("total"),
+                        order.get("createdAt"), order.get("cancelledAt"), order.get("status"),
+                        item.get("id"), item.get("itemName"), item.get("itemPrice"), item.get("quantity"), item.get("totalPrice"))
+                .where(filterPredicates(cb, query, order, filter).toArray(Predicate[]::new))
+                .orderBy(cb.asc(order.get("id")), cb.asc(item.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> new OrderExportRow(
+                        row.get(0, Long.class), row.get(1, String.class), row.get(2, Long.class), row.get(3, String.class),
+                        row.get(4, BigDecimal.class), row.get(5, BigDecimal.class), row.get(6, BigDecimal.class),
+                        row.get(7, Instant.class), row.get(8, Instant.class), row.get(9, String.class),
+                        row.get(10, Long.class), row.get(11, String.class), row.get(12, BigDecimal.class),
+                        row.get(13, Integer.class), row.get(14, BigDecimal.class)));
+    }
+
+    @Override
+    public List<OrderSummaryRow> findSummaryRowsByIdIn(Collection<Long> ids, Set<String> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryRow> query = cb.createQuery(OrderSummaryRow.class);
+        Root<SalesOrder> order = query.from(SalesOrder.class);
+
+        // Columns that were not requested are selected as null literals, so the constructor stays fixed
+        query.select(cb.construct(OrderSummaryRow.class,
+                        order.get("id"),
+                        column(cb, order, columns, "orderReference", String.class),
+                        column(cb, order, columns, "customerId", Long.class),
+                        column(cb, order, columns, "subtotal", BigDecimal.class),
+                        column(cb, order, columns, "vat", BigDecimal.class),
+                        column(cb, order, columns, "total", BigDecimal.class),
+                        column(cb, order, columns, "createdAt", Instant.class),
+                        column(cb, order, columns, "cancelledAt", Instant.class),
+                        column(cb, order, columns, "status", String.class)))
+                .where(order.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static <T> Expression<T> column(CriteriaBuilder cb, Root<SalesOrder> order, Set<String> columns,
+                                            String name, Class<T> type) {
+        return columns.contains(name) ? order.get(name) : cb.nullLiteral(type);
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, CommonAbstractCriteria query, Root<SalesOrder> order,
+                                             OrderFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<Instant> createdAt = order.get("createdAt");
+        if (filter.creationDateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.creationDateFrom()));
+        }
+        if (filter.creationDateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, filter.creationDateTo()));
+        }
+        // Orders that were never cancelled are not excluded by the cancellation filters. Rather than
+        // "cancelled_at IS NULL OR ...", which no index serves, the orders cancelled outside the range
+        // are excluded with a subquery on the cancelled_at index.
+        if (filter.cancellationDateFrom() != null) {
+            predicates.add(cb.not(order.get("id").in(cancelledIds(query,
+                    cancelledAt -> cb.lessThan(cancelledAt, filter.cancellationDateFrom())))));
+        }
+        if (filter.cancellationDateTo() != null) {
+            predicates.add(cb.not(order.get("id").in(cancelledIds(query,
+                    cancelledAt -> cb.greaterThan(cancelledAt, filter.cancellationDateTo())))));
+        }
+        return predicates;
+    }
+
+    private static Subquery<Long> cancelledIds(CommonAbstractCriteria query,
+                                               Function<Path<Instant>, Predicate> cancelledAtPredicate) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<SalesOrder> cancelled = subquery.from(SalesOrder.class);
+        return subquery.select(cancelled.get("id")).where(cancelledAtPredicate.apply(cancelled.get("cancelledAt")));
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Expression<? extends Y> column,
+                                                                      Y value, boolean descending) {
+        return descending ? cb.lessThan(column, value) : cb.greaterThan(column, value);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.repository.CatalogItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded in-memory cache of catalog items used for order pricing.
+ * <p>
+ * Entries expire after a fixed time and are evicted when a catalog item is written (see
+ * {@code EntityCacheInvalidator}). A value loaded before an eviction of its item is returned
+ * to the caller but not cached, and {@code updatedAt} acts as the entry version: a value loaded by
+ * a slow reader never replaces a newer one that is already cached. Hit, miss and eviction counts
+ * are published as the {@code catalog} cache metrics.
+ */
+@Component
+public class CatalogItemCache {
+
+    private final CatalogItemRepository catalogItemRepository;
+    private final Cache<Long, CachedItem> cache;
+    private final InvalidationGenerations generations = new InvalidationGenerations(1024);
+
+    public CatalogItemCache(CatalogItemRepository catalogItemRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.catalog-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${app.catalog-cache.ttl:10m}") Duration ttl) {
+        this.catalogItemRepository = catalogItemRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog");
+    }
+
+    /**
+     * Returns the cached items for the given ids, loading all missing ones with a single query.
+     * Ids that do not exist in the catalog are absent from the result.
+     */
+    public Map<Long, CachedItem> getAll(Collection<Long> ids) {
+        Map<Long, CachedItem> items = new HashMap<>(cache.getAllPresent(ids));
+        if (items.size() == ids.size()) {
+            return items;
+        }
+
+        List<Long> missing = new ArrayList<>(ids.size() - items.size());
+        Map<Long, Long> loadGenerations = new HashMap<>();
+        for (Long id : ids) {
+            if (!items.containsKey(id)) {
+                missing.add(id);
+                loadGenerations.put(id, generations.current(id));
+            }
+        }
+        for (CatalogItem item : catalogItemRepository.findAllById(missing)) {
+            items.put(item.getId(), put(CachedItem.from(item), loadGenerations.get(item.getId())));
+        }
+        return items;
+    }
+
+    public void evict(Long id) {
+        generations.advance(id);
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Caches the loaded item unless it was evicted since the load started, and returns the item
+     * to use: the cached one if it is newer than the loaded one.
+     */
+    private CachedItem put(CachedItem loaded, long generation) {
+        CachedItem cached = cache.asMap().compute(loaded.id(), (id, current) -> {
+            if (!generations.isCurrent(id, generation)) {
+                return current;
+            }
+            return current != null && loaded.updatedAt().isBefore(current.updatedAt()) ? current : loaded;
+        });
+        return cached != null ? cached : loaded;
+    }
+
+    /**
+     * Immutable snapshot of the catalog fields needed to price an order line. {@code priceMinor} is
+     * the price in cents as computed by {@link OrderPricing#toMinorUnits}.
+     */
+    public record CachedItem(Long id, String sku, String name, BigDecimal price, long priceMinor, Instant updatedAt) {
+        public CachedItem(Long id, String sku, String name, BigDecimal price, Instant updatedAt) {
+            this(id, sku, name, price, OrderPricing.toMinorUnits(price), updatedAt);
+        }
+
+        public static CachedItem from(CatalogItem item) {
+            return new CachedItem(item.getId(), item.getSku(), item.getName(), item.getPrice(), item.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.repository.CustomerName;
+import com.example.salesorder.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Customer names for order responses, cached by customer id.
+ * <p>
+ * The cache is a fixed-size direct-mapped table indexed by the {@code long} id, so a hit costs an
+ * array read and no boxing; ids sharing a slot replace each other. Ids without a customer are
+ * cached as absent for a shorter time. Misses of a batch are loaded with one query, and entries
+ * are evicted when a customer is written (see {@code EntityCacheInvalidator}); a name loaded
+ * before an eviction is not cached.
+ * <p>
+ * Customers are also written outside the application, so the cache only serves names for
+ * responses. Validating a customer for a new order uses {@link #loadNames}, which reads the
+ * database.
+ */
+@Component
+public class CustomerNameLookup {
+
+    private final CustomerRepository customerRepository;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    // Slots are replaced, never mutated: a racing reader sees either the old or the new entry
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final InvalidationGenerations generations = new InvalidationGenerations(1024);
+
+    public CustomerNameLookup(CustomerRepository customerRepository,
+                              @Value("${app.customer-name-cache.size:65536}") int size,
+                              @Value("${app.customer-name-cache.ttl:10m}") Duration ttl,
+                              @Value("${app.customer-name-cache.negative-ttl:1m}") Duration negativeTtl) {
+        if (size < 1) {
+            throw new IllegalArgumentException("app.customer-name-cache.size must be at least 1");
+        }
+        this.customerRepository = customerRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        int capacity = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the name of the customer, or {@code null} if there is no such customer.
+     */
+    public String findName(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Entry entry = cached(id, System.nanoTime());
+        if (entry != null) {
+            return entry.name;
+        }
+        return findNames(List.of(id)).get(id);
+    }
+
+    /**
+     * Returns the names of the given customers, loading all uncached ones with a single query.
+     * Ids without a customer are absent from the result.
+     */
+    public Map<Long, String> findNames(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>(ids.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            Entry entry = cached(id, now);
+            if (entry == null) {
+                missing.add(id);
+            } else if (entry.name != null) {
+                names.put(id, entry.name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing, names);
+        }
+        return names;
+    }
+
+    /**
+     * Returns the names of the given customers read from the database with a single query, and
+     * refreshes their cache entries. Ids without a customer are absent from the result.
+     */
+    public Map<Long, String> loadNames(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, String> names = new HashMap<>(distinct.size() * 2);
+        if (!distinct.isEmpty()) {
+            load(distinct, names);
+        }
+        return names;
+    }
+
+    public void evict(Long id) {
+        // Advanced first: a load that stores its entry after this sees the new generation and removes it
+        generations.advance(id);
+        int slot = slot(id);
+        Entry entry = slots.get(slot);
+        if (entry != null && entry.id == id) {
+            slots.compareAndSet(slot, entry, null);
+        }
+    }
+
+    private void load(List<Long> ids, Map<Long, String> names) {
+        long[] loadGenerations = new long[ids.size()];
+        for (int i = 0; i < loadGenerations.length; i++) {
+            loadGenerations[i] = generations.current(ids.get(i));
+        }
+
+        Map<Long, String> loaded = new HashMap<>(ids.size() * 2);
+        for (CustomerName customer : customerRepository.findNamesByIdIn(ids)) {
+            loaded.put(customer.id(), customer.name());
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < loadGenerations.length; i++) {
+            Long id = ids.get(i);
+            String name = loaded.get(id);
+            int slot = slot(id);
+            Entry entry = name != null
+                    ? new Entry(id, name, now + ttlNanos)
+                    : new Entry(id, null, now + negativeTtlNanos);
+            slots.set(slot, entry);
+            if (!generations.isCurrent(id, loadGenerations[i])) {
+                // Evicted while loading: the name may predate the change
+                slots.compareAndSet(slot, entry, null);
+            }
+            if (name != null) {
+                names.put(id, name);
+            }
+        }
+    }
+
+    private Entry cached(long id, long now) {
+        Entry entry = slots.get(slot(id));
+        return entry != null && entry.id == id && now - entry.expiresAt < 0 ? entry : null;
+    }
+
+    private int slot(long id) {
+        // Spread sequential ids of a batch across the table
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    // name is null for ids without a customer
+    private record Entry(long id, String name, long expiresAt) {
+    }
+}
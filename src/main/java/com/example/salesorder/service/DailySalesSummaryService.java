@@ -0,0 +1,181 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.DailySalesSummary;
+import com.example.salesorder.domain.OrderItem;
+import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.dto.SalesSummaryResponse;
+import com.example.salesorder.exception.BadRequestException;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderTotalsRow;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.util.BusinessTimeZone;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@code daily_sales_summary} rollup and answers date range totals from it.
+ * <p>
+ * Orders count towards the day they were created on and their current status. The rollup is
+ * updated in the transaction that creates or cancels the orders, with one upsert per affected
+ * day and status, so reading a range costs one row per day and status instead of one per order.
+ */
+@Service
+public class DailySalesSummaryService {
+
+    private static final String CANCELLED = "CANCELLED";
+    private static final LocalDate FIRST_DAY = LocalDate.EPOCH;
+
+    private final DailySalesSummaryRepository summaryRepository;
+    private final SalesOrderRepository salesOrderRepository;
+    private final ZoneId zone;
+
+    public DailySalesSummaryService(DailySalesSummaryRepository summaryRepository,
+                                    SalesOrderRepository salesOrderRepository,
+                                    BusinessTimeZone businessTimeZone) {
+        this.summaryRepository = summaryRepository;
+        this.salesOrderRepository = salesOrderRepository;
+        this.zone = businessTimeZone.zone();
+    }
+
+    /**
+     * Adds newly created orders to the rollup. Must be called in the transaction that saves them.
+     */
+    public void recordCreated(Collection<SalesOrder> orders) {
+        Map<Key, Totals> deltas = new TreeMap<>();
+        for (SalesOrder order : orders) {
+            deltas.computeIfAbsent(new Key(dayOf(order.getCreatedAt()), order.getStatus()), k -> new Totals())
+                    .add(order.getSubtotal(), order.getVat(), order.getTotal(), itemUnits(order), 1);
+        }
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Moves a just cancelled order from its previous status to {@code CANCELLED}.
+     */
+    public void recordCancelled(SalesOrder order, String previousStatus) {
+        LocalDate day = dayOf(order.getCreatedAt());
+        Totals moved = new Totals();
+        moved.add(order.getSubtotal(), order.getVat(), order.getTotal(), itemUnits(order), 1);
+        apply(new Key(day, previousStatus), moved.negate());
+        apply(new Key(day, CANCELLED), moved);
+    }
+
+    @Transactional(readOnly = true)
+    public SalesSummaryResponse getSummary(LocalDate from, LocalDate to, String status) {
+        if (from == null || to == null) {
+            throw new BadRequestException("from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+
+        List<DailySalesSummary> rows = status == null || status.isBlank()
+                ? summaryRepository.findBySummaryDateBetweenOrderBySummaryDateAscStatusAsc(from, to)
+                : summaryRepository.findBySummaryDateBetweenAndStatusOrderBySummaryDateAsc(from, to, status);
+
+        Totals totals = new Totals();
+        List<SalesSummaryResponse.Day> days = new ArrayList<>(rows.size());
+        for (DailySalesSummary row : rows) {
+            totals.add(row.getSubtotal(), row.getVat(), row.getTotal(), row.getItemUnits(), row.getOrderCount());
+            days.add(new SalesSummaryResponse.Day(row.getSummaryDate(), row.getStatus(), row.getOrderCount(),
+                    row.getSubtotal(), row.getVat(), row.getTotal(), row.getItemUnits()));
+        }
+        return new SalesSummaryResponse(from, to, status == null || status.isBlank() ? null : status,
+                totals.orders, totals.subtotal, totals.vat, totals.total, totals.units, days);
+    }
+
+    /**
+     * Recomputes the rollup for the days from {@code from} to {@code to} (inclusive) from the orders,
+     * e.g. to backfill it for orders created before it existed. Without bounds every day up to
+     * tomorrow is rebuilt. Orders are streamed and aggregated in memory per day and status.
+     */
+    @Transactional
+    public SalesSummaryResponse rebuild(LocalDate from, LocalDate to) {
+        LocalDate first = from != null ? from : FIRST_DAY;
+        LocalDate last = to != null ? to : LocalDate.now(zone).plusDays(1);
+        if (first.isAfter(last)) {
+            throw new BadRequestException("from must not be after to");
+        }
+
+        Instant start = first.atStartOfDay(zone).toInstant();
+        Instant end = last.plusDays(1).atStartOfDay(zone).toInstant();
+        Map<Key, Totals> totals = new TreeMap<>();
+        try (Stream<OrderTotalsRow> rows = salesOrderRepository.streamTotalsCreatedBetween(start, end)) {
+            rows.forEach(row -> totals.computeIfAbsent(new Key(dayOf(row.createdAt()), row.status()), k -> new Totals())
+                    .add(row.subtotal(), row.vat(), row.total(), row.itemUnits() != null ? row.itemUnits() : 0, 1));
+        }
+
+        summaryRepository.deleteBySummaryDateBetween(first, last);
+        totals.forEach(this::apply);
+
+        return getSummary(first, last, null);
+    }
+
+    private void apply(Key key, Totals delta) {
+        summaryRepository.addToSummary(key.day(), key.status(), delta.orders,
+                delta.subtotal, delta.vat, delta.total, delta.units);
+    }
+
+    private LocalDate dayOf(Instant instant) {
+        return instant.atZone(zone).toLocalDate();
+    }
+
+    private static long itemUnits(SalesOrder order) {
+        long units = 0;
+        for (OrderItem item : order.getItems()) {
+            units += item.getQuantity();
+        }
+        return units;
+    }
+
+    private record Key(LocalDate day, String status) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byDay = day.compareTo(other.day);
+            return byDay != 0 ? byDay : status.compareTo(other.status);
+        }
+    }
+
+    private static final class Totals {
+        private long orders;
+        private BigDecimal subtotal = BigDecimal.ZERO;
+        private BigDecimal vat = BigDecimal.ZERO;
+        private BigDecimal total = BigDecimal.ZERO;
+        private long units;
+
+        // Amounts are added as the order table stores them, rounded to cents
+        void add(BigDecimal subtotal, BigDecimal vat, BigDecimal total, long units, long orders) {
+            this.subtotal = this.subtotal.add(cents(subtotal));
+            this.vat = this.vat.add(cents(vat));
+            this.total = this.total.add(cents(total));
+            this.units += units;
+            this.orders += orders;
+        }
+
+        Totals negate() {
+            Totals negated = new Totals();
+            negated.orders = -orders;
+            negated.subtotal = subtotal.negate();
+            negated.vat = vat.negate();
+            negated.total = total.negate();
+            negated.units = -units;
+            return negated;
+        }
+
+        private static BigDecimal cents(BigDecimal amount) {
+            return amount.setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
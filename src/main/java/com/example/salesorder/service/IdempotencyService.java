@@ -0,0 +1,191 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.IdempotencyKey;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.exception.BadRequestException;
+import com.example.salesorder.exception.ConflictException;
+import com.example.salesorder.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Order creation with {@code Idempotency-Key} deduplication.
+ * <p>
+ * The first request with a key creates the order and stores key, order reference and a hash of
+ * the request in the same transaction. Retries with the key get the stored order back without
+ * pricing or inserting anything again. Requests for the same key are serialized by a striped lock,
+ * so a retry that arrives while the first attempt is still running waits for it instead of racing
+ * it; across instances the primary key of {@code idempotency_key} decides the winner. Recently
+ * used keys are cached in memory in front of the table. The key is stored as a SHA-256 hash of
+ * caller and key, so it fits the column however long the caller's name is.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int LOCK_STRIPES = 256;
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Cache<String, StoredKey> recentKeys;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    public IdempotencyService(OrderService orderService,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.cache.maximum-size:10000}") long cacheSize) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilKeyExpires())
+                .build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Creates the order unless {@code key} was already used by {@code scope} (the caller), in
+     * which case the order created by the first request is returned.
+     *
+     * @throws ConflictException if the key was used for a different request
+     */
+    public Result createOrder(String scope, String key, CreateOrderRequest req) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = sha256(scope + ":" + key);
+        String requestHash = hash(req);
+
+        StoredKey stored = recentKeys.getIfPresent(scopedKey);
+        if (stored != null) {
+            return replay(stored, requestHash);
+        }
+
+        // ReentrantLock rather than synchronized so waiting virtual threads do not pin their carrier
+        Lock lock = locks[Math.floorMod(scopedKey.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            stored = recentKeys.getIfPresent(scopedKey);
+            if (stored == null) {
+                stored = findStored(scopedKey);
+            }
+            if (stored != null) {
+                recentKeys.put(scopedKey, stored);
+                return replay(stored, requestHash);
+            }
+
+            OrderResponse created;
+            try {
+                created = transactionTemplate.execute(status -> {
+                    OrderResponse order = orderService.createOrder(req);
+                    Instant now = Instant.now();
+                    idempotencyKeyRepository.saveAndFlush(
+                            new IdempotencyKey(scopedKey, order.orderReference(), requestHash, now, now.plus(ttl)));
+                    return order;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance stored the key first and its order was rolled back here
+                stored = findStored(scopedKey);
+                if (stored == null) {
+                    throw new ConflictException("A request with this Idempotency-Key is already being processed");
+                }
+                recentKeys.put(scopedKey, stored);
+                return replay(stored, requestHash);
+            }
+
+            recentKeys.put(scopedKey, new StoredKey(created.orderReference(), requestHash, Instant.now().plus(ttl)));
+            return new Result(created, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        Integer purged = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(Instant.now()));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private StoredKey findStored(String scopedKey) {
+        Instant now = Instant.now();
+        return idempotencyKeyRepository.findById(scopedKey)
+                .filter(k -> k.getExpiresAt().isAfter(now))
+                .map(k -> new StoredKey(k.getOrderReference(), k.getRequestHash(), k.getExpiresAt()))
+                .orElse(null);
+    }
+
+    private Result replay(StoredKey stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ConflictException("Idempotency-Key was already used for a different request");
+        }
+        return new Result(orderService.getOrderByReference(stored.orderReference()), true);
+    }
+
+    private static String hash(CreateOrderRequest req) {
+        // Records have a stable toString over all of their components
+        return sha256(req.toString());
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * The order for a request and whether it was created earlier by a request with the same key.
+     */
+    public record Result(OrderResponse order, boolean replayed) {}
+
+    private record StoredKey(String orderReference, String requestHash, Instant expiresAt) {}
+
+    private static final class UntilKeyExpires implements Expiry<String, StoredKey> {
+        @Override
+        public long expireAfterCreate(String key, StoredKey value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, StoredKey value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, StoredKey value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.salesorder.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Striped eviction counters that keep the caches of this package from storing values read before
+ * an eviction.
+ * <p>
+ * A load reads the generation of its id before querying and stores its result only if the
+ * generation is still the same; an eviction advances the generation before removing the entry.
+ * Ids sharing a stripe discard each other's in-flight loads, which only costs a reload.
+ */
+final class InvalidationGenerations {
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+
+    InvalidationGenerations(int stripes) {
+        int capacity = Integer.highestOneBit(Math.max(stripes, 1));
+        this.stripes = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    long current(long id) {
+        return stripes.get(stripe(id));
+    }
+
+    void advance(long id) {
+        stripes.incrementAndGet(stripe(id));
+    }
+
+    boolean isCurrent(long id, long generation) {
+        return current(id) == generation;
+    }
+
+    private int stripe(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
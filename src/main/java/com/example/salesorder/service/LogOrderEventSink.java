@@ -0,0 +1,54 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.dto.OrderEventMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes events as JSON lines, appended to {@code app.outbox.file} when set and logged otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogOrderEventSink implements OrderEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger("order-events");
+
+    private final ObjectWriter jsonWriter;
+    private final Path file;
+
+    public LogOrderEventSink(ObjectMapper objectMapper, @Value("${app.outbox.file:}") String file) {
+        this.jsonWriter = objectMapper.writer();
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public void publish(List<OrderEventMessage> events) throws IOException {
+        if (file == null) {
+            for (OrderEventMessage event : events) {
+                log.info(jsonWriter.writeValueAsString(event));
+            }
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+        for (OrderEventMessage event : events) {
+            lines.append(jsonWriter.writeValueAsString(event)).append('\n');
+        }
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.exception.BadRequestException;
+import com.example.salesorder.repository.OrderKey;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset pagination cursor. Encodes the sort column, direction and the
+ * {@code (sortValue, id)} position of the last order returned to the client.
+ */
+final class OrderCursor {
+
+    /** Sort columns usable for keyset paging and how their values are parsed back from a cursor. */
+    private static final Map<String, Function<String, Comparable<?>>> SORT_COLUMNS = Map.of(
+            "createdAt", Instant::parse,
+            "total", BigDecimal::new,
+            "id", Long::valueOf
+    );
+
+    private OrderCursor() {
+    }
+
+    static void checkSortable(String sortBy) {
+        if (!SORT_COLUMNS.containsKey(sortBy)) {
+            throw new BadRequestException("Cursor paging supports sortBy " + SORT_COLUMNS.keySet() + ", got: " + sortBy);
+        }
+    }
+
+    static String encode(String sortBy, String sortDirection, OrderKey key) {
+        String raw = sortBy + "|" + sortDirection.toLowerCase() + "|" + key.id() + "|" + key.sortValue();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderKey decode(String cursor, String sortBy, String sortDirection) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("malformed cursor");
+            }
+            if (!parts[0].equals(sortBy) || !parts[1].equalsIgnoreCase(sortDirection)) {
+                throw new BadRequestException("Cursor was issued for a different sortBy/sortDirection");
+            }
+            return new OrderKey(Long.valueOf(parts[2]), SORT_COLUMNS.get(sortBy).apply(parts[3]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
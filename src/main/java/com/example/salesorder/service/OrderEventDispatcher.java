@@ -0,0 +1,157 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.OrderEvent;
+import com.example.salesorder.dto.OrderEventMessage;
+import com.example.salesorder.repository.OrderEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains the order event outbox to the configured {@link OrderEventSink}.
+ * <p>
+ * Each batch is claimed in a short transaction, published with no transaction or row lock held,
+ * then deleted. A batch the sink rejects is released and published again on the next poll, and a
+ * batch whose dispatcher dies is published again once its claim expires: delivery is at least
+ * once. Batches are not ordered across polls or instances, so consumers order events by
+ * {@code occurredAt} and drop duplicates by {@code id}. Lag (time from the order change to its
+ * publication) and throughput are recorded as {@code outbox.event.lag} and
+ * {@code outbox.events.published}.
+ */
+@Service
+public class OrderEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventDispatcher.class);
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration claimTimeout;
+    private final boolean enabled;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer publishTime;
+    private final Timer lag;
+
+    public OrderEventDispatcher(OrderEventRepository orderEventRepository,
+                                OrderEventSink sink,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.outbox.batch-size:100}") int batchSize,
+                                @Value("${app.outbox.claim-timeout:PT30S}") Duration claimTimeout,
+                                @Value("${app.outbox.dispatcher.enabled:true}") boolean enabled) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.outbox.batch-size must be at least 1");
+        }
+        if (claimTimeout.isNegative() || claimTimeout.isZero()) {
+            throw new IllegalArgumentException("app.outbox.claim-timeout must be positive");
+        }
+        this.orderEventRepository = orderEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+        this.enabled = enabled;
+        this.published = Counter.builder("outbox.events.published")
+                .description("Order events published to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.publish.failures")
+                .description("Batches the sink failed to publish")
+                .register(meterRegistry);
+        this.publishTime = Timer.builder("outbox.publish")
+                .description("Time to publish one batch of order events")
+                .register(meterRegistry);
+        this.lag = Timer.builder("outbox.event.lag")
+                .description("Time from an order change to the publication of its event")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (enabled) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Publishes pending events until the outbox is empty or the sink fails.
+     *
+     * @return the number of events published
+     */
+    public int dispatch() {
+        int total = 0;
+        while (true) {
+            int count;
+            try {
+                count = publishNextBatch();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Publishing order events failed, retrying on the next poll: {}", e.getMessage());
+                return total;
+            }
+            total += count;
+            if (count < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int publishNextBatch() {
+        List<OrderEvent> events = transactionTemplate.execute(status -> claimNextBatch());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = events.stream().map(OrderEvent::getId).toList();
+        List<OrderEventMessage> messages = events.stream().map(OrderEventMessage::from).toList();
+        long start = System.nanoTime();
+        try {
+            sink.publish(messages);
+        } catch (IOException e) {
+            release(ids);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            release(ids);
+            throw e;
+        }
+        publishTime.record(Duration.ofNanos(System.nanoTime() - start));
+        transactionTemplate.executeWithoutResult(status -> orderEventRepository.deleteAllByIdInBatch(ids));
+
+        Instant now = Instant.now();
+        for (OrderEvent event : events) {
+            lag.record(Duration.between(event.getOccurredAt(), now));
+        }
+        published.increment(events.size());
+        return events.size();
+    }
+
+    private List<OrderEvent> claimNextBatch() {
+        Instant now = Instant.now();
+        List<OrderEvent> events = orderEventRepository.lockNextBatch(now, PageRequest.of(0, batchSize));
+        Instant claimedUntil = now.plus(claimTimeout);
+        for (OrderEvent event : events) {
+            event.setClaimedUntil(claimedUntil);
+        }
+        return events;
+    }
+
+    private void release(List<Long> ids) {
+        transactionTemplate.executeWithoutResult(status -> orderEventRepository.releaseClaims(ids));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.OrderEvent;
+import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.repository.OrderEventRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Writes order events to the outbox. Called inside the transaction that changes the orders, so an
+ * event is stored if and only if its change is committed; {@link OrderEventDispatcher} publishes
+ * them afterwards.
+ */
+@Component
+public class OrderEventOutbox {
+
+    private final OrderEventRepository orderEventRepository;
+
+    public OrderEventOutbox(OrderEventRepository orderEventRepository) {
+        this.orderEventRepository = orderEventRepository;
+    }
+
+    public void recordCreated(Collection<SalesOrder> orders) {
+        orderEventRepository.saveAll(orders.stream()
+                .map(order -> OrderEvent.of(OrderEvent.ORDER_CREATED, order, order.getCreatedAt()))
+                .toList());
+    }
+
+    public void recordCancelled(SalesOrder order) {
+        orderEventRepository.save(OrderEvent.of(OrderEvent.ORDER_CANCELLED, order, order.getCancelledAt()));
+    }
+}
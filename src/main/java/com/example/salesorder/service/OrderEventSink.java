@@ -0,0 +1,19 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.dto.OrderEventMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of published order events, selected with {@code app.outbox.sink}.
+ */
+public interface OrderEventSink {
+
+    /**
+     * Publishes a batch of events, in id order within the batch. Returning normally acknowledges
+     * the whole batch; an exception leaves all of it in the outbox to be published again. No
+     * transaction or outbox row lock is held during the call.
+     */
+    void publish(List<OrderEventMessage> events) throws IOException;
+}
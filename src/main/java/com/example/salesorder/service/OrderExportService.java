@@ -0,0 +1,189 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.dto.ExportFormat;
+import com.example.salesorder.dto.OrderQueryParams;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.repository.OrderExportRow;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.util.BusinessTimeZone;
+import com.example.salesorder.util.DateFormatter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders matching the list filters straight from a database cursor to an output stream.
+ * Only the order currently being written is held in memory, so heap use does not depend on
+ * the number of exported orders.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER =
+            "id,orderReference,customerId,customerName,subtotal,vat,total,creationDate,cancellationDate,status,itemCount";
+
+    // Push rows out periodically so large exports start arriving before the buffers fill
+    private static final int FLUSH_EVERY_ORDERS = 500;
+
+    private final SalesOrderRepository salesOrderRepository;
+    private final ObjectWriter jsonWriter;
+    private final BusinessTimeZone businessTimeZone;
+    private final DateFormatter dateFormatter;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    public OrderExportService(SalesOrderRepository salesOrderRepository,
+                              ObjectMapper objectMapper,
+                              BusinessTimeZone businessTimeZone,
+                              DateFormatter dateFormatter) {
+        this.salesOrderRepository = salesOrderRepository;
+        this.businessTimeZone = businessTimeZone;
+        this.dateFormatter = dateFormatter;
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(OrderQueryParams params, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<OrderExportRow> rows = salesOrderRepository.streamExportRows(OrderService.toFilter(params, businessTimeZone), fetchSize)) {
+            Iterator<OrderResponse> orders = new GroupingIterator(rows.iterator(), dateFormatter);
+            switch (format) {
+                case NDJSON -> writeNdjson(orders, out);
+                case CSV -> writeCsv(orders, out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<OrderResponse> orders, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonWriter.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            int written = 0;
+            while (orders.hasNext()) {
+                jsonWriter.writeValue(generator, orders.next());
+                if (++written % FLUSH_EVERY_ORDERS == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<OrderResponse> orders, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int written = 0;
+        while (orders.hasNext()) {
+            OrderResponse o = orders.next();
+            writer.write(String.valueOf(o.id()));
+            writer.write(',');
+            writer.write(o.orderReference());
+            writer.write(',');
+            writer.write(String.valueOf(o.customerId()));
+            writer.write(',');
+            writer.write(csvField(o.customerName()));
+            writer.write(',');
+            writer.write(o.subtotal().toPlainString());
+            writer.write(',');
+            writer.write(o.vat().toPlainString());
+            writer.write(',');
+            writer.write(o.total().toPlainString());
+            writer.write(',');
+            writer.write(o.creationDate() != null ? o.creationDate() : "");
+            writer.write(',');
+            writer.write(o.cancellationDate() != null ? o.cancellationDate() : "");
+            writer.write(',');
+            writer.write(o.status());
+            writer.write(',');
+            writer.write(String.valueOf(o.items().size()));
+            writer.write('\n');
+            if (++written % FLUSH_EVERY_ORDERS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Folds adjacent rows of the same order into one {@link OrderResponse}.
+     */
+    private static final class GroupingIterator implements Iterator<OrderResponse> {
+
+        private final Iterator<OrderExportRow> rows;
+        private final DateFormatter dateFormatter;
+        private OrderExportRow pending;
+
+        GroupingIterator(Iterator<OrderExportRow> rows, DateFormatter dateFormatter) {
+            this.rows = rows;
+            this.dateFormatter = dateFormatter;
+            this.pending = rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public OrderResponse next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            OrderExportRow first = pending;
+            List<OrderResponse.OrderItemResponse> items = new ArrayList<>();
+            OrderExportRow row = first;
+            while (row != null && row.orderId().equals(first.orderId())) {
+                if (row.itemId() != null) {
+                    items.add(new OrderResponse.OrderItemResponse(
+                            row.itemId(), row.itemName(), row.itemPrice(), row.quantity(), row.itemTotalPrice()));
+                }
+                row = rows.hasNext() ? rows.next() : null;
+            }
+            pending = row;
+
+            return new OrderResponse(
+                    first.orderId(),
+                    first.orderReference(),
+                    first.customerId(),
+                    first.customerName() != null ? first.customerName() : "Unknown",
+                    items,
+                    first.subtotal(),
+                    first.vat(),
+                    first.total(),
+                    dateFormatter.formatInstant(first.createdAt()),
+                    dateFormatter.formatInstant(first.cancelledAt()),
+                    first.status()
+            );
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.dto.BatchOrderResponse;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.exception.NotFoundException;
+import com.example.salesorder.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for order creation ({@code app.order-ingestion.mode=group-commit}).
+ * <p>
+ * Instead of one transaction per order, orders are put on a bounded queue and a single writer
+ * thread creates them with {@link OrderService#createOrders}, up to
+ * {@code app.order-ingestion.max-group-size} orders per transaction, waiting at most
+ * {@code app.order-ingestion.max-delay} for a group to fill. {@link #createOrder} returns once the
+ * transaction of its group has committed, so callers see the same result as with
+ * {@link OrderService#createOrder}, only with one commit shared by the whole group.
+ * <p>
+ * Callers do not touch the database while they wait: with open-in-view each of them would hold a
+ * connection until its request ends, and enough waiting requests would leave none for the writer.
+ * Unknown customers and catalog items are reported per order by {@code createOrders} and thrown
+ * as {@link NotFoundException}. When the queue stays full for
+ * {@code app.order-ingestion.enqueue-timeout} the order is rejected with
+ * {@link ServiceUnavailableException}, as is an order whose group has not committed within
+ * {@code app.order-ingestion.result-timeout}. If a group cannot be committed, its orders are
+ * retried one transaction each, so a single bad order does not fail the others. An error that
+ * escapes a group fails that group and the writer goes on with the next one.
+ */
+@Service
+@ConditionalOnProperty(name = "app.order-ingestion.mode", havingValue = "group-commit")
+public class OrderIngestionQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIngestionQueue.class);
+
+    // Started before and stopped after the web server, so that admitted requests are committed
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final OrderService orderService;
+    private final BlockingQueue<Pending> queue;
+    private final int maxGroupSize;
+    private final long maxDelayNanos;
+    private final long enqueueTimeoutNanos;
+    private final long resultTimeoutNanos;
+    private final DistributionSummary groupSize;
+    private final Timer commitTime;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIngestionQueue(OrderService orderService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.order-ingestion.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.order-ingestion.max-group-size:100}") int maxGroupSize,
+                               @Value("${app.order-ingestion.max-delay:5ms}") Duration maxDelay,
+                               @Value("${app.order-ingestion.enqueue-timeout:100ms}") Duration enqueueTimeout,
+                               @Value("${app.order-ingestion.result-timeout:30s}") Duration resultTimeout) {
+        if (queueCapacity < 1 || maxGroupSize < 1) {
+            throw new IllegalArgumentException("app.order-ingestion.queue-capacity and max-group-size must be at least 1");
+        }
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxGroupSize = maxGroupSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.resultTimeoutNanos = resultTimeout.toNanos();
+        this.groupSize = DistributionSummary.builder("orders.ingestion.group.size")
+                .description("Orders created per group commit")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) maxGroupSize)
+                .register(meterRegistry);
+        this.commitTime = Timer.builder("orders.ingestion.commit")
+                .description("Time to create and commit one group of orders")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.ingestion.rejected")
+                .description("Orders rejected because the ingestion queue was full")
+                .register(meterRegistry);
+        Gauge.builder("orders.ingestion.queue.size", queue, BlockingQueue::size)
+                .description("Orders waiting for their group commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the order and waits until the group it was committed with is durable.
+     *
+     * @throws NotFoundException           if the customer or a catalog item does not exist
+     * @throws ServiceUnavailableException if the queue is full or not running, or the order was not
+     *                                     committed within {@code result-timeout}
+     */
+    public OrderResponse createOrder(CreateOrderRequest req) {
+        Pending pending = new Pending(req);
+        if (!enqueue(pending)) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many orders waiting to be created, please retry");
+        }
+        // The writer may have seen the queue empty and stopped before the order was queued
+        if (!running && queue.remove(pending)) {
+            throw new ServiceUnavailableException("Order ingestion is shutting down");
+        }
+
+        try {
+            return pending.result.get(resultTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new ServiceUnavailableException("Timed out waiting for the order to be created, please retry");
+            }
+            // Already taken by the writer, its group may still commit
+            throw new ServiceUnavailableException("Timed out waiting for the order to be committed, it may still be created");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Creating the order failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the order to be created");
+        }
+    }
+
+    private boolean enqueue(Pending pending) {
+        if (!running) {
+            return false;
+        }
+        try {
+            return queue.offer(pending, enqueueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        List<Pending> group = new ArrayList<>(maxGroupSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    collect(group);
+                } catch (InterruptedException e) {
+                    // Only stop() ends the writer, and only once the queue is empty
+                }
+                if (!group.isEmpty()) {
+                    try {
+                        commit(group);
+                    } catch (Throwable e) {
+                        // commit() has failed the group; keep the writer alive for the orders still queued
+                        log.error("Group commit of {} orders failed", group.size(), e);
+                    }
+                    group.clear();
+                }
+            }
+        } finally {
+            if (running) {
+                // The writer died: stop admitting orders and fail the ones nobody will commit
+                log.error("Order ingestion writer stopped unexpectedly, rejecting queued orders");
+                running = false;
+                fail(group);
+                List<Pending> queued = new ArrayList<>();
+                queue.drainTo(queued);
+                fail(queued);
+            }
+        }
+    }
+
+    private static void fail(List<Pending> pendings) {
+        for (Pending pending : pendings) {
+            pending.result.completeExceptionally(new ServiceUnavailableException("Order ingestion stopped, please retry"));
+        }
+    }
+
+    /**
+     * Collects up to {@code maxGroupSize} orders, waiting at most {@code maxDelay} after the first.
+     */
+    private void collect(List<Pending> group) throws InterruptedException {
+        Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        group.add(first);
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (group.size() < maxGroupSize) {
+            queue.drainTo(group, maxGroupSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxGroupSize || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        long start = System.nanoTime();
+        try {
+            List<CreateOrderRequest> requests = group.stream().map(Pending::request).toList();
+            BatchOrderResponse response = orderService.createOrders(requests);
+            for (BatchOrderResponse.Result result : response.results()) {
+                Pending pending = group.get(result.index());
+                if (BatchOrderResponse.STATUS_CREATED.equals(result.status())) {
+                    pending.result.complete(result.order());
+                } else {
+                    // Requests were validated by the controller, what is left are unknown references
+                    pending.result.completeExceptionally(new NotFoundException(result.error()));
+                }
+            }
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).result.completeExceptionally(e);
+            } else {
+                log.warn("Group commit of {} orders failed, creating them one by one: {}", group.size(), e.getMessage());
+                commitEach(group);
+            }
+        } finally {
+            groupSize.record(group.size());
+            commitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failUncompleted(group);
+        }
+    }
+
+    /**
+     * Fails the orders of the group that got no result: {@code createOrders} left them out, or the
+     * commit died with an {@link Error}. Their callers would otherwise wait for the timeout.
+     */
+    private static void failUncompleted(List<Pending> group) {
+        List<Pending> uncompleted = group.stream().filter(pending -> !pending.result.isDone()).toList();
+        if (uncompleted.isEmpty()) {
+            return;
+        }
+        log.error("Group commit left {} of {} orders without a result", uncompleted.size(), group.size());
+        for (Pending pending : uncompleted) {
+            pending.result.completeExceptionally(new IllegalStateException("Group commit returned no result for the order"));
+        }
+    }
+
+    private void commitEach(List<Pending> group) {
+        for (Pending pending : group) {
+            try {
+                pending.result.complete(orderService.createOrder(pending.request));
+            } catch (RuntimeException e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "order-ingestion");
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // The writer commits what is still queued before it exits
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private record Pending(CreateOrderRequest request, CompletableFuture<OrderResponse> result) {
+        Pending(CreateOrderRequest request) {
+            this(request, new CompletableFuture<>());
+        }
+    }
+}
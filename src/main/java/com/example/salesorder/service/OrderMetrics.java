@@ -0,0 +1,45 @@
+package com.example.salesorder.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size metrics of the order operations; their latency is timed with {@code @Timed} on {@link OrderService}.
+ */
+@Component
+public class OrderMetrics {
+
+    private final DistributionSummary itemsPerOrder;
+    private final DistributionSummary rowsPerPage;
+    private final Counter cancelConflicts;
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.itemsPerOrder = DistributionSummary.builder("orders.items")
+                .description("Items per created order")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000.0)
+                .register(registry);
+        this.rowsPerPage = DistributionSummary.builder("orders.page.rows")
+                .description("Orders returned per listed page")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000.0)
+                .register(registry);
+        this.cancelConflicts = Counter.builder("orders.cancel.conflicts")
+                .description("Cancel attempts retried because the order was modified, but not cancelled, concurrently")
+                .register(registry);
+    }
+
+    public void recordItems(int items) {
+        itemsPerOrder.record(items);
+    }
+
+    public void recordPageRows(int rows) {
+        rowsPerPage.record(rows);
+    }
+
+    public void recordCancelConflict() {
+        cancelConflicts.increment();
+    }
+}
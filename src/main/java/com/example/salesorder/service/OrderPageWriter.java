@@ -0,0 +1,240 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.OrderItem;
+import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.dto.OrderFields;
+import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.repository.OrderSummaryRow;
+import com.example.salesorder.util.DateFormatter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes pages of orders with a {@link JsonGenerator}, straight from the loaded entities or
+ * projection rows. The output is what Jackson writes for a {@code PageResponse<OrderResponse>}
+ * limited to the requested fields, without building the response records, their item lists
+ * and the per-property serializers first.
+ */
+@Component
+public class OrderPageWriter {
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString FIRST = new SerializedString("first");
+    private static final SerializableString LAST = new SerializedString("last");
+    private static final SerializableString NEXT_CURSOR = new SerializedString("nextCursor");
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString ORDER_REFERENCE = new SerializedString("orderReference");
+    private static final SerializableString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializableString CUSTOMER_NAME = new SerializedString("customerName");
+    private static final SerializableString ITEMS = new SerializedString("items");
+    private static final SerializableString SUBTOTAL = new SerializedString("subtotal");
+    private static final SerializableString VAT = new SerializedString("vat");
+    private static final SerializableString TOTAL = new SerializedString("total");
+    private static final SerializableString CREATION_DATE = new SerializedString("creationDate");
+    private static final SerializableString CANCELLATION_DATE = new SerializedString("cancellationDate");
+    private static final SerializableString STATUS = new SerializedString("status");
+
+    private static final SerializableString ITEM_NAME = new SerializedString("itemName");
+    private static final SerializableString ITEM_PRICE = new SerializedString("itemPrice");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+    private static final SerializableString TOTAL_PRICE = new SerializedString("totalPrice");
+
+    private final DateFormatter dateFormatter;
+
+    public OrderPageWriter(DateFormatter dateFormatter) {
+        this.dateFormatter = dateFormatter;
+    }
+
+    /**
+     * Writes a page of orders loaded with their items.
+     */
+    public void writeOrders(PageResponse<SalesOrder> page, Map<Long, String> customerNames, OrderFields fields,
+                            JsonGenerator generator) throws IOException {
+        Selection selection = new Selection(fields);
+        generator.writeStartObject();
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+        for (SalesOrder order : page.content()) {
+            writeOrder(generator, selection, order.getId(), order.getOrderReference(), order.getCustomerId(),
+                    customerNames, order.getItems(), order.getSubtotal(), order.getVat(), order.getTotal(),
+                    order.getCreatedAt(), order.getCancelledAt(), order.getStatus());
+        }
+        generator.writeEndArray();
+        writePageFields(generator, page);
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Writes a page of orders read as projection rows, without items.
+     */
+    public void writeSummaries(PageResponse<OrderSummaryRow> page, Map<Long, String> customerNames, OrderFields fields,
+                               JsonGenerator generator) throws IOException {
+        Selection selection = new Selection(fields);
+        generator.writeStartObject();
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+        for (OrderSummaryRow row : page.content()) {
+            writeOrder(generator, selection, row.id(), row.orderReference(), row.customerId(),
+                    customerNames, null, row.subtotal(), row.vat(), row.total(),
+                    row.createdAt(), row.cancelledAt(), row.status());
+        }
+        generator.writeEndArray();
+        writePageFields(generator, page);
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    private void writeOrder(JsonGenerator generator, Selection selection, Long id, String orderReference,
+                            Long customerId, Map<Long, String> customerNames, List<OrderItem> items,
+                            BigDecimal subtotal, BigDecimal vat, BigDecimal total,
+                            Instant createdAt, Instant cancelledAt, String status) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        writeNumber(generator, id);
+        if (selection.orderReference) {
+            generator.writeFieldName(ORDER_REFERENCE);
+            generator.writeString(orderReference);
+        }
+        if (selection.customerId) {
+            generator.writeFieldName(CUSTOMER_ID);
+            writeNumber(generator, customerId);
+        }
+        if (selection.customerName) {
+            generator.writeFieldName(CUSTOMER_NAME);
+            generator.writeString(customerNames.getOrDefault(customerId, "Unknown"));
+        }
+        if (selection.items) {
+            generator.writeFieldName(ITEMS);
+            writeItems(generator, items);
+        }
+        if (selection.subtotal) {
+            generator.writeFieldName(SUBTOTAL);
+            generator.writeNumber(subtotal);
+        }
+        if (selection.vat) {
+            generator.writeFieldName(VAT);
+            generator.writeNumber(vat);
+        }
+        if (selection.total) {
+            generator.writeFieldName(TOTAL);
+            generator.writeNumber(total);
+        }
+        if (selection.creationDate) {
+            generator.writeFieldName(CREATION_DATE);
+            generator.writeString(dateFormatter.formatInstant(createdAt));
+        }
+        if (selection.cancellationDate) {
+            generator.writeFieldName(CANCELLATION_DATE);
+            generator.writeString(dateFormatter.formatInstant(cancelledAt));
+        }
+        if (selection.status) {
+            generator.writeFieldName(STATUS);
+            generator.writeString(status);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeItems(JsonGenerator generator, List<OrderItem> items) throws IOException {
+        if (items == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (OrderItem item : items) {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            writeNumber(generator, item.getId());
+            generator.writeFieldName(ITEM_NAME);
+            generator.writeString(item.getItemName());
+            generator.writeFieldName(ITEM_PRICE);
+            generator.writeNumber(item.getItemPrice());
+            generator.writeFieldName(QUANTITY);
+            if (item.getQuantity() != null) {
+                generator.writeNumber(item.getQuantity().intValue());
+            } else {
+                generator.writeNull();
+            }
+            generator.writeFieldName(TOTAL_PRICE);
+            generator.writeNumber(item.getTotalPrice());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    // Same as PageResponse's NON_NULL inclusion
+    private static void writePageFields(JsonGenerator generator, PageResponse<?> page) throws IOException {
+        if (page.page() != null) {
+            generator.writeFieldName(PAGE);
+            generator.writeNumber(page.page().intValue());
+        }
+        generator.writeFieldName(SIZE);
+        generator.writeNumber(page.size());
+        if (page.totalElements() != null) {
+            generator.writeFieldName(TOTAL_ELEMENTS);
+            generator.writeNumber(page.totalElements().longValue());
+        }
+        if (page.totalPages() != null) {
+            generator.writeFieldName(TOTAL_PAGES);
+            generator.writeNumber(page.totalPages().intValue());
+        }
+        generator.writeFieldName(FIRST);
+        generator.writeBoolean(page.first());
+        generator.writeFieldName(LAST);
+        generator.writeBoolean(page.last());
+        if (page.nextCursor() != null) {
+            generator.writeFieldName(NEXT_CURSOR);
+            generator.writeString(page.nextCursor());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumber(value.longValue());
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    /**
+     * The requested fields resolved once per page instead of a set lookup per field and order.
+     */
+    private static final class Selection {
+        final boolean orderReference;
+        final boolean customerId;
+        final boolean customerName;
+        final boolean items;
+        final boolean subtotal;
+        final boolean vat;
+        final boolean total;
+        final boolean creationDate;
+        final boolean cancellationDate;
+        final boolean status;
+
+        Selection(OrderFields fields) {
+            orderReference = fields.includes("orderReference");
+            customerId = fields.includes("customerId");
+            customerName = fields.includes("customerName");
+            items = fields.includes("items");
+            subtotal = fields.includes("subtotal");
+            vat = fields.includes("vat");
+            total = fields.includes("total");
+            creationDate = fields.includes("creationDate");
+            cancellationDate = fields.includes("cancellationDate");
+            status = fields.includes("status");
+        }
+    }
+}
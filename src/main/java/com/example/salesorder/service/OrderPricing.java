@@ -0,0 +1,139 @@
+package com.example.salesorder.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Prices orders in cents.
+ * <p>
+ * Line totals and the subtotal are exact products and sums of cent amounts, and VAT is rounded
+ * half-up to the cent once, on the subtotal. The arithmetic runs on {@code long} minor units; a
+ * {@link Calculation} switches to {@link BigDecimal} for the rest of the order when a price has
+ * fractions of a cent or an intermediate result would overflow, with the same results.
+ */
+@Component
+public class OrderPricing {
+
+    /**
+     * Returned by {@link #toMinorUnits} for amounts that are not a whole number of cents.
+     */
+    public static final long NOT_IN_MINOR_UNITS = Long.MIN_VALUE;
+
+    private static final int SCALE = 2;
+
+    private final BigDecimal vatRate;
+    // vatRate = vatRateUnscaled / vatRateDivisor, or vatRateDivisor = 0 if it does not fit a long
+    private final long vatRateUnscaled;
+    private final long vatRateDivisor;
+
+    public OrderPricing(@Value("${app.vat-rate:0.15}") BigDecimal vatRate) {
+        this.vatRate = vatRate;
+        BigDecimal rate = vatRate.stripTrailingZeros();
+        if (rate.signum() >= 0 && rate.scale() >= 0 && rate.scale() <= 18 && rate.precision() <= 18) {
+            this.vatRateUnscaled = rate.unscaledValue().longValueExact();
+            this.vatRateDivisor = pow10(rate.scale());
+        } else {
+            this.vatRateUnscaled = 0;
+            this.vatRateDivisor = 0;
+        }
+    }
+
+    /**
+     * Converts a non-negative amount to cents, or returns {@link #NOT_IN_MINOR_UNITS}.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        if (amount == null || amount.signum() < 0) {
+            return NOT_IN_MINOR_UNITS;
+        }
+        try {
+            return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            return NOT_IN_MINOR_UNITS;
+        }
+    }
+
+    public Calculation newCalculation() {
+        return new Calculation();
+    }
+
+    /**
+     * Running totals of one order. Not thread-safe.
+     */
+    public final class Calculation {
+
+        private long subtotalMinor;
+        // Non-null once the order left the long fast path
+        private BigDecimal subtotal;
+
+        private Calculation() {
+        }
+
+        /**
+         * Adds a line and returns its total.
+         *
+         * @param unitPriceMinor {@code unitPrice} in cents as returned by {@link #toMinorUnits}
+         */
+        public BigDecimal addLine(long unitPriceMinor, BigDecimal unitPrice, int quantity) {
+            if (subtotal == null && unitPriceMinor != NOT_IN_MINOR_UNITS && quantity >= 0) {
+                long high = Math.multiplyHigh(unitPriceMinor, quantity);
+                long lineMinor = unitPriceMinor * quantity;
+                long sum = subtotalMinor + lineMinor;
+                // No overflow: the product fits in 63 bits and the sum keeps its sign
+                if (high == 0 && lineMinor >= 0 && sum >= 0) {
+                    subtotalMinor = sum;
+                    return BigDecimal.valueOf(lineMinor, SCALE);
+                }
+            }
+
+            if (subtotal == null) {
+                subtotal = BigDecimal.valueOf(subtotalMinor, SCALE);
+            }
+            BigDecimal line = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            subtotal = subtotal.add(line);
+            return line;
+        }
+
+        public BigDecimal subtotal() {
+            return subtotal != null ? subtotal : BigDecimal.valueOf(subtotalMinor, SCALE);
+        }
+
+        public BigDecimal vat() {
+            if (subtotal == null && vatRateDivisor != 0) {
+                long vatMinor = vatMinor();
+                if (vatMinor >= 0) {
+                    return BigDecimal.valueOf(vatMinor, SCALE);
+                }
+            }
+            return subtotal().multiply(vatRate).setScale(SCALE, RoundingMode.HALF_UP);
+        }
+
+        public BigDecimal total() {
+            return subtotal().add(vat());
+        }
+
+        // VAT in cents rounded half-up, or -1 if the product overflows
+        private long vatMinor() {
+            if (Math.multiplyHigh(subtotalMinor, vatRateUnscaled) != 0) {
+                return -1;
+            }
+            long product = subtotalMinor * vatRateUnscaled;
+            if (product < 0) {
+                return -1;
+            }
+            long quotient = product / vatRateDivisor;
+            long remainder = product % vatRateDivisor;
+            return remainder >= vatRateDivisor - remainder ? quotient + 1 : quotient;
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
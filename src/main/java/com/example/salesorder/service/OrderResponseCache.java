@@ -0,0 +1,127 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of serialized single-order responses.
+ * <p>
+ * Orders only change when they are cancelled, which evicts the entry and discards loads that were
+ * in flight at that time. The order's {@code version} is the entry version: it is used as the ETag
+ * and a slow reader never replaces a newer entry.
+ * Hit, miss and eviction counts are published as the {@code orders} cache metrics.
+ */
+@Component
+public class OrderResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Entry> cache;
+    private final InvalidationGenerations generations = new InvalidationGenerations(1024);
+
+    public OrderResponseCache(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.order-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${app.order-cache.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    /**
+     * Returns the cached entry for the order, or caches the one built by {@code loader}.
+     * The loader runs outside any cache lock and may throw. An entry loaded while the order was
+     * evicted is returned but not cached.
+     */
+    public Entry get(Long id, Supplier<Entry> loader) {
+        Entry cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.current(id);
+        Entry loaded = loader.get();
+        Entry stored = cache.asMap().compute(id, (key, current) -> {
+            if (!generations.isCurrent(key, generation)) {
+                return current;
+            }
+            return current != null && loaded.version() < current.version() ? current : loaded;
+        });
+        return stored != null ? stored : loaded;
+    }
+
+    public Entry entry(Long version, OrderResponse response) {
+        try {
+            return new Entry(version != null ? version : 0L, objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Evicts the order now and once more after commit, so an entry re-read by a concurrent
+     * request before the commit does not outlive the transaction.
+     */
+    public void evict(Long id) {
+        invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long id) {
+        // Advanced first, so a load racing with this invalidation cannot store its entry after it
+        generations.advance(id);
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * JSON body of an {@link OrderResponse} at the given order version, with the other encodings
+     * of the same body once they have been requested.
+     */
+    public record Entry(long version, byte[] json, Map<String, byte[]> encodings) {
+        public Entry(long version, byte[] json) {
+            this(version, json, new ConcurrentHashMap<>());
+        }
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+
+        /**
+         * Returns the body in the named format, built from the JSON body by {@code encoder} on
+         * first use and kept with the entry for later requests.
+         */
+        public byte[] encoded(String format, Function<byte[], byte[]> encoder) {
+            return encodings.computeIfAbsent(format, f -> encoder.apply(json));
+        }
+    }
+}
@@ -1,151 +1,284 @@
 package com.example.salesorder.service;
 
 import com.example.salesorder.dto.*;
-import com.example.salesorder.domain.CatalogItem;
-import com.example.salesorder.domain.Customer;
+import com.example.salesorder.config.ReplicaRouting;
 import com.example.salesorder.domain.OrderItem;
 import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.exception.ConflictException;
 import com.example.salesorder.exception.NotFoundException;
-import com.example.salesorder.repository.CatalogItemRepository;
-import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.OrderFilter;
+import com.example.salesorder.repository.OrderKey;
+import com.example.salesorder.repository.OrderSummaryRow;
 import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.util.BusinessTimeZone;
 import com.example.salesorder.util.DateFormatter;
-import jakarta.transaction.Transactional;
-import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.io.IOException;
 import java.time.Instant;
-import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
-    private final CatalogItemRepository catalogItemRepository;
-    private final SalesOrderRepository salesOrderRepository;
-    private final CustomerRepository customerRepository;
+    static final int CANCEL_MAX_ATTEMPTS = 5;
+    private static final long CANCEL_BACKOFF_MILLIS = 10;
 
-    @Value("${app.vat-rate:0.15}")
-    private BigDecimal vatRate;
+    private final CatalogItemCache catalogItemCache;
+    private final SalesOrderRepository salesOrderRepository;
+    private final CustomerNameLookup customerNameLookup;
+    private final OrderMetrics orderMetrics;
+    private final DailySalesSummaryService dailySalesSummaryService;
+    private final OrderPricing orderPricing;
+    private final OrderResponseCache orderResponseCache;
+    private final OrderEventOutbox orderEventOutbox;
+    private final BusinessTimeZone businessTimeZone;
+    private final DateFormatter dateFormatter;
+    private final OrderPageWriter orderPageWriter;
+    private final RecentOrderWrites recentOrderWrites;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
 
-    public OrderService(CatalogItemRepository catalogItemRepository,
+    public OrderService(CatalogItemCache catalogItemCache,
                         SalesOrderRepository salesOrderRepository,
-                        CustomerRepository customerRepository) {
-        this.catalogItemRepository = catalogItemRepository;
+                        CustomerNameLookup customerNameLookup,
+                        OrderMetrics orderMetrics,
+                        DailySalesSummaryService dailySalesSummaryService,
+                        OrderPricing orderPricing,
+                        OrderResponseCache orderResponseCache,
+                        OrderEventOutbox orderEventOutbox,
+                        BusinessTimeZone businessTimeZone,
+                        DateFormatter dateFormatter,
+                        OrderPageWriter orderPageWriter,
+                        RecentOrderWrites recentOrderWrites,
+                        PlatformTransactionManager transactionManager) {
+        this.catalogItemCache = catalogItemCache;
         this.salesOrderRepository = salesOrderRepository;
-        this.customerRepository = customerRepository;
+        this.customerNameLookup = customerNameLookup;
+        this.orderMetrics = orderMetrics;
+        this.dailySalesSummaryService = dailySalesSummaryService;
+        this.orderPricing = orderPricing;
+        this.orderResponseCache = orderResponseCache;
+        this.orderEventOutbox = orderEventOutbox;
+        this.businessTimeZone = businessTimeZone;
+        this.dateFormatter = dateFormatter;
+        this.orderPageWriter = orderPageWriter;
+        this.recentOrderWrites = recentOrderWrites;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
+    @Timed(value = "orders.operation", extraTags = {"operation", "create"}, histogram = true)
     public OrderResponse createOrder(CreateOrderRequest req) {
-        // Validate customer
+        // Validate customer against the database, the name is kept for the response
         var customerId = req.customerId();
-        if (!customerRepository.existsById(customerId)) {
+        String customerName = customerId != null
+                ? customerNameLookup.loadNames(List.of(customerId)).get(customerId)
+                : null;
+        if (customerName == null) {
             throw new NotFoundException("Customer not found: " + customerId);
         }
 
-        // Load catalog items
+        // Load catalog items, hot SKUs are served from the cache
         List<Long> ids = req.items().stream().map(OrderItemRequest::catalogItemId).distinct().toList();
-        List<CatalogItem> catalogItems = catalogItemRepository.findAllById(ids);
-        Map<Long, CatalogItem> catalogMap = catalogItems.stream().collect(Collectors.toMap(CatalogItem::getId, c -> c));
+        Map<Long, CatalogItemCache.CachedItem> catalogMap = catalogItemCache.getAll(ids);
+
+        SalesOrder order = buildOrder(req, catalogMap);
+
+        var saved = salesOrderRepository.save(order);
+        orderMetrics.recordItems(saved.getItems().size());
+        dailySalesSummaryService.recordCreated(List.of(saved));
+        orderEventOutbox.recordCreated(List.of(saved));
+        recentOrderWrites.record(saved);
+
+        return mapToOrderResponse(saved, customerName);
+    }
+
+    /**
+     * Creates many orders in one transaction. Customers and catalog items of the whole batch are
+     * validated with one query each and the orders are inserted with batched statements. Orders
+     * that fail validation are reported as failed and do not prevent the others from being created.
+     */
+    @Transactional
+    @Timed(value = "orders.operation", extraTags = {"operation", "batch_create"}, histogram = true)
+    public BatchOrderResponse createOrders(List<CreateOrderRequest> requests) {
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> catalogItemIds = new HashSet<>();
+        for (CreateOrderRequest req : requests) {
+            if (req != null && req.customerId() != null) customerIds.add(req.customerId());
+            if (req != null && req.items() != null) {
+                req.items().stream()
+                        .filter(it -> it != null && it.catalogItemId() != null)
+                        .forEach(it -> catalogItemIds.add(it.catalogItemId()));
+            }
+        }
+
+        Map<Long, String> customerNames = customerNameLookup.loadNames(customerIds);
+        Map<Long, CatalogItemCache.CachedItem> catalogMap = catalogItemCache.getAll(catalogItemIds);
+
+        BatchOrderResponse.Result[] results = new BatchOrderResponse.Result[requests.size()];
+        List<SalesOrder> orders = new ArrayList<>(requests.size());
+        List<Integer> orderIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest req = requests.get(i);
+            String error = validate(req);
+            if (error == null && !customerNames.containsKey(req.customerId())) {
+                error = "Customer not found: " + req.customerId();
+            }
+            if (error != null) {
+                results[i] = BatchOrderResponse.Result.failed(i, error);
+                continue;
+            }
+            try {
+                orders.add(buildOrder(req, catalogMap));
+                orderIndexes.add(i);
+            } catch (NotFoundException e) {
+                results[i] = BatchOrderResponse.Result.failed(i, e.getMessage());
+            }
+        }
+
+        List<SalesOrder> saved = salesOrderRepository.saveAll(orders);
+        dailySalesSummaryService.recordCreated(saved);
+        orderEventOutbox.recordCreated(saved);
+        saved.forEach(recentOrderWrites::record);
+        for (int j = 0; j < saved.size(); j++) {
+            SalesOrder order = saved.get(j);
+            int index = orderIndexes.get(j);
+            orderMetrics.recordItems(order.getItems().size());
+            results[index] = BatchOrderResponse.Result.created(index,
+                    mapToOrderResponse(order, customerNames.get(order.getCustomerId())));
+        }
 
+        return BatchOrderResponse.of(List.of(results));
+    }
+
+    private static String validate(CreateOrderRequest req) {
+        if (req == null) return "Order must not be null";
+        if (req.customerId() == null) return "customerId must not be null";
+        if (req.items() == null || req.items().isEmpty()) return "items must not be empty";
+        for (OrderItemRequest item : req.items()) {
+            if (item == null || item.catalogItemId() == null) return "catalogItemId must not be null";
+            if (item.quantity() == null || item.quantity() < 1) return "quantity must be at least 1";
+        }
+        return null;
+    }
+
+    /**
+     * Prices the requested lines against the given catalog snapshot and builds the unsaved order.
+     *
+     * @throws NotFoundException if a requested catalog item is not in {@code catalogMap}
+     */
+    private SalesOrder buildOrder(CreateOrderRequest req, Map<Long, CatalogItemCache.CachedItem> catalogMap) {
         SalesOrder order = new SalesOrder();
-        order.setCustomerId(customerId);
+        order.setCustomerId(req.customerId());
 
-        BigDecimal subtotal = BigDecimal.ZERO;
+        OrderPricing.Calculation pricing = orderPricing.newCalculation();
 
         for (OrderItemRequest itemReq : req.items()) {
-            CatalogItem cat = catalogMap.get(itemReq.catalogItemId());
+            CatalogItemCache.CachedItem cat = catalogMap.get(itemReq.catalogItemId());
             if (cat == null) throw new NotFoundException("Catalog item not found: " + itemReq.catalogItemId());
             OrderItem oi = new OrderItem();
-            oi.setCatalogItemId(cat.getId());
-            oi.setItemName(cat.getName());
-            oi.setItemPrice(cat.getPrice());
+            oi.setCatalogItemId(cat.id());
+            oi.setItemName(cat.name());
+            oi.setItemPrice(cat.price());
             oi.setQuantity(itemReq.quantity());
-            BigDecimal totalPrice = cat.getPrice().multiply(BigDecimal.valueOf(itemReq.quantity()));
-            oi.setTotalPrice(totalPrice);
+            oi.setTotalPrice(pricing.addLine(cat.priceMinor(), cat.price(), itemReq.quantity()));
             order.addItem(oi);
-            subtotal = subtotal.add(totalPrice);
         }
 
-        BigDecimal vat = subtotal.multiply(vatRate);
-        BigDecimal total = subtotal.add(vat);
-
-        order.setSubtotal(subtotal);
-        order.setVat(vat);
-        order.setTotal(total);
+        order.setSubtotal(pricing.subtotal());
+        order.setVat(pricing.vat());
+        order.setTotal(pricing.total());
         order.setStatus("CREATED");
+        return order;
+    }
 
-        var saved = salesOrderRepository.save(order);
-
-        Customer customer = customerRepository.findById(saved.getCustomerId())
-                .orElseThrow(() -> new NotFoundException("Customer not found: " + saved.getCustomerId()));
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.operation", extraTags = {"operation", "list"}, histogram = true)
+    public PageResponse<OrderResponse> listOrders(OrderQueryParams params) {
+        return listOrders(params, OrderFields.ALL);
+    }
 
-        var itemsResp = saved.getItems().stream()
-                .map(it -> new OrderResponse.OrderItemResponse(
-                        it.getId(),
-                        it.getItemName(),
-                        it.getItemPrice(),
-                        it.getQuantity(),
-                        it.getTotalPrice()
-                ))
-                .toList();
+    /**
+     * Lists orders with only the requested fields set. Without items the orders are read with a
+     * projection of the requested columns and {@code order_item} is not queried.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "orders.operation", extraTags = {"operation", "list"}, histogram = true)
+    public PageResponse<OrderResponse> listOrders(OrderQueryParams params, OrderFields fields) {
+        return loadPage(params, ids -> loadOrderResponses(ids, fields));
+    }
 
-        return new OrderResponse(
-                saved.getId(),
-                saved.getOrderReference(),
-                saved.getCustomerId(),
-                customer.getName(),
-                itemsResp,
-                saved.getSubtotal(),
-                saved.getVat(),
-                saved.getTotal(),
-                DateFormatter.formatInstant(saved.getCreatedAt()),
-                DateFormatter.formatInstant(saved.getCancelledAt()),
-                saved.getStatus()
-        );
+    /**
+     * Loads the same page as {@link #listOrders(OrderQueryParams, OrderFields)}, to be written
+     * with the {@link OrderPageWriter} straight from the loaded orders or projection rows. The
+     * page is loaded in a read-only transaction and written after it has ended, so no connection
+     * is held while a slow client reads the response, and a query that fails does so before
+     * anything about the response has been decided.
+     */
+    @Timed(value = "orders.operation", extraTags = {"operation", "list"}, histogram = true)
+    public OrderPageContent loadOrderPage(OrderQueryParams params, OrderFields fields) {
+        if (fields.includes("items")) {
+            LoadedPage<SalesOrder> loaded = readOnlyTransaction.execute(status -> {
+                PageResponse<SalesOrder> page = loadPage(params, this::loadOrders);
+                return new LoadedPage<>(page, customerNameLookup.findNames(
+                        page.content().stream().map(SalesOrder::getCustomerId).collect(Collectors.toSet())));
+            });
+            return generator -> orderPageWriter.writeOrders(loaded.page(), loaded.customerNames(), fields, generator);
+        }
+        LoadedPage<OrderSummaryRow> loaded = readOnlyTransaction.execute(status -> {
+            PageResponse<OrderSummaryRow> page = loadPage(params, ids -> loadSummaryRows(ids, fields));
+            return new LoadedPage<>(page, fields.includes("customerName")
+                    ? customerNameLookup.findNames(page.content().stream().map(OrderSummaryRow::customerId).collect(Collectors.toSet()))
+                    : Map.of());
+        });
+        return generator -> orderPageWriter.writeSummaries(loaded.page(), loaded.customerNames(), fields, generator);
     }
 
-    public PageResponse<OrderResponse> listOrders(OrderQueryParams params) {
-        // Convert LocalDate to Instant for query
-        Instant creationDateFrom = params.creationDateFrom() != null 
-                ? params.creationDateFrom().atStartOfDay(ZoneId.systemDefault()).toInstant() 
-                : null;
-        Instant creationDateTo = params.creationDateTo() != null 
-                ? params.creationDateTo().atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant() 
-                : null;
-        Instant cancellationDateFrom = params.cancellationDateFrom() != null 
-                ? params.cancellationDateFrom().atStartOfDay(ZoneId.systemDefault()).toInstant() 
-                : null;
-        Instant cancellationDateTo = params.cancellationDateTo() != null 
-                ? params.cancellationDateTo().atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant() 
-                : null;
+    private <T> PageResponse<T> loadPage(OrderQueryParams params, Function<List<Long>, List<T>> loader) {
+        OrderFilter filter = toFilter(params, businessTimeZone);
+        if (params.keysetMode()) {
+            return loadSlice(filter, params, loader);
+        }
 
-        // Create sort
-        Sort sort = Sort.by("desc".equalsIgnoreCase(params.sortDirection()) 
-                ? Sort.Direction.DESC 
-                : Sort.Direction.ASC, 
-                params.sortBy());
+        // Create sort, with the id as tie-breaker so pages are stable and match the (column, id) indexes
+        Sort.Direction direction = "desc".equalsIgnoreCase(params.sortDirection())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, params.sortBy());
+        if (!"id".equals(params.sortBy())) {
+            sort = sort.and(Sort.by(direction, "id"));
+        }
         Pageable pageable = PageRequest.of(params.page(), params.size(), sort);
 
-        // Query with filters
-        Page<SalesOrder> page = salesOrderRepository.findByFilters(
-                creationDateFrom, creationDateTo, 
-                cancellationDateFrom, cancellationDateTo, 
-                pageable
-        );
+        // Query the ids of the page with filters
+        Page<Long> page = salesOrderRepository.findIdsByFilter(filter, pageable);
 
-        // Map to response
-        List<OrderResponse> content = page.getContent().stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        // Load the orders of the page
+        List<T> content = loader.apply(page.getContent());
+        orderMetrics.recordPageRows(content.size());
 
         return new PageResponse<>(
                 content,
@@ -158,16 +291,164 @@ public class OrderService {
         );
     }
 
+    private <T> PageResponse<T> loadSlice(OrderFilter filter, OrderQueryParams params, Function<List<Long>, List<T>> loader) {
+        OrderCursor.checkSortable(params.sortBy());
+        boolean first = params.cursor().isBlank();
+        OrderKey after = first ? null : OrderCursor.decode(params.cursor(), params.sortBy(), params.sortDirection());
+        boolean descending = "desc".equalsIgnoreCase(params.sortDirection());
+
+        // Fetch one extra key to find out whether another slice follows
+        List<OrderKey> keys = salesOrderRepository.findKeysAfter(filter, params.sortBy(), descending, after, params.size() + 1);
+        boolean hasNext = keys.size() > params.size();
+        if (hasNext) {
+            keys = keys.subList(0, params.size());
+        }
+
+        List<T> content = loader.apply(keys.stream().map(OrderKey::id).toList());
+        orderMetrics.recordPageRows(content.size());
+        String nextCursor = hasNext
+                ? OrderCursor.encode(params.sortBy(), params.sortDirection(), keys.get(keys.size() - 1))
+                : null;
+        return PageResponse.slice(content, params.size(), first, nextCursor);
+    }
+
+    /**
+     * Converts the date filters to instants in the business time zone, each bound inclusive.
+     */
+    static OrderFilter toFilter(OrderQueryParams params, BusinessTimeZone zone) {
+        return new OrderFilter(
+                params.creationDateFrom() != null ? zone.startOfDay(params.creationDateFrom()) : null,
+                params.creationDateTo() != null ? zone.endOfDay(params.creationDateTo()) : null,
+                params.cancellationDateFrom() != null ? zone.startOfDay(params.cancellationDateFrom()) : null,
+                params.cancellationDateTo() != null ? zone.endOfDay(params.cancellationDateTo()) : null
+        );
+    }
+
+    @Timed(value = "orders.operation", extraTags = {"operation", "get"}, histogram = true)
     public OrderResponse getOrderById(Long id) {
-        SalesOrder order = salesOrderRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Order not found: " + id));
-        return mapToOrderResponse(order);
+        return readOrder(recentOrderWrites.contains(id), () -> salesOrderRepository.findById(id),
+                this::mapToOrderResponse, "Order not found: " + id);
+    }
+
+    /**
+     * Returns the serialized order from the {@link OrderResponseCache}, loading it on a miss.
+     */
+    @Timed(value = "orders.operation", extraTags = {"operation", "get"}, histogram = true)
+    public OrderResponseCache.Entry getCachedOrderById(Long id) {
+        return orderResponseCache.get(id, () -> readOrder(
+                recentOrderWrites.contains(id), () -> salesOrderRepository.findById(id),
+                order -> orderResponseCache.entry(order.getVersion(), mapToOrderResponse(order)),
+                "Order not found: " + id));
+    }
+
+    public OrderResponse getOrderByReference(String orderReference) {
+        return readOrder(recentOrderWrites.contains(orderReference),
+                () -> salesOrderRepository.findByOrderReference(orderReference),
+                this::mapToOrderResponse, "Order not found: " + orderReference);
+    }
+
+    /**
+     * Loads and maps an order in a read-only transaction, which a read replica serves when
+     * replicas are configured. Orders this instance wrote recently, and orders the replica does
+     * not have yet, are read from the primary.
+     */
+    private <T> T readOrder(boolean recentlyWritten, Supplier<Optional<SalesOrder>> finder,
+                            Function<SalesOrder, T> mapper, String notFoundMessage) {
+        Supplier<Optional<T>> read = () -> readOnlyTransaction.execute(status -> finder.get().map(mapper));
+        Optional<T> result = recentlyWritten ? Optional.empty() : read.get();
+        if (result.isEmpty()) {
+            result = ReplicaRouting.onPrimary(read);
+        }
+        return result.orElseThrow(() -> new NotFoundException(notFoundMessage));
+    }
+
+    /**
+     * Builds responses for the given order ids, preserving their order. Orders with their
+     * items and the referenced customers are each fetched with one query, so the number
+     * of statements does not grow with the number of ids. Without items only the requested
+     * columns are read.
+     */
+    private List<OrderResponse> loadOrderResponses(List<Long> ids, OrderFields fields) {
+        if (!fields.includes("items")) {
+            return loadOrderSummaries(ids, fields);
+        }
+
+        List<SalesOrder> orders = loadOrders(ids);
+        Map<Long, String> customerNames = customerNameLookup.findNames(
+                orders.stream().map(SalesOrder::getCustomerId).collect(Collectors.toSet()));
+
+        List<OrderResponse> responses = new ArrayList<>(orders.size());
+        for (SalesOrder order : orders) {
+            responses.add(mapToOrderResponse(order, customerNames.getOrDefault(order.getCustomerId(), "Unknown")));
+        }
+        return responses;
+    }
+
+    private List<OrderResponse> loadOrderSummaries(List<Long> ids, OrderFields fields) {
+        List<OrderSummaryRow> rows = loadSummaryRows(ids, fields);
+        Map<Long, String> customerNames = fields.includes("customerName")
+                ? customerNameLookup.findNames(rows.stream().map(OrderSummaryRow::customerId).collect(Collectors.toSet()))
+                : Map.of();
+
+        List<OrderResponse> responses = new ArrayList<>(rows.size());
+        for (OrderSummaryRow row : rows) {
+            responses.add(new OrderResponse(
+                    row.id(),
+                    row.orderReference(),
+                    fields.includes("customerId") ? row.customerId() : null,
+                    fields.includes("customerName") ? customerNames.getOrDefault(row.customerId(), "Unknown") : null,
+                    null,
+                    row.subtotal(),
+                    row.vat(),
+                    row.total(),
+                    dateFormatter.formatInstant(row.createdAt()),
+                    dateFormatter.formatInstant(row.cancelledAt()),
+                    row.status()
+            ));
+        }
+        return responses;
+    }
+
+    /**
+     * Loads the orders with their items in one query, in the order of the ids.
+     */
+    private List<SalesOrder> loadOrders(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SalesOrder> orders = salesOrderRepository.findAllWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(SalesOrder::getId, o -> o));
+        return ids.stream().map(orders::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Loads the requested columns of the orders without their items, in the order of the ids.
+     */
+    private List<OrderSummaryRow> loadSummaryRows(List<Long> ids, OrderFields fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Set<String> columns = new HashSet<>();
+        for (String field : fields.names()) {
+            columns.add(switch (field) {
+                case "customerName" -> "customerId";
+                case "creationDate" -> "createdAt";
+                case "cancellationDate" -> "cancelledAt";
+                default -> field;
+            });
+        }
+        Map<Long, OrderSummaryRow> rows = salesOrderRepository.findSummaryRowsByIdIn(ids, columns).stream()
+                .collect(Collectors.toMap(OrderSummaryRow::id, row -> row));
+        return ids.stream().map(rows::get).filter(Objects::nonNull).toList();
     }
 
     private OrderResponse mapToOrderResponse(SalesOrder saved) {
-        Customer customer = customerRepository.findById(saved.getCustomerId())
-                .orElse(null); // Handle case where customer might be deleted
+        String customerName = customerNameLookup.findName(saved.getCustomerId()); // null if the customer was deleted
 
+        return mapToOrderResponse(saved, customerName != null ? customerName : "Unknown");
+    }
+
+    private OrderResponse mapToOrderResponse(SalesOrder saved, String customerName) {
         var itemsResp = saved.getItems().stream()
                 .map(it -> new OrderResponse.OrderItemResponse(
                         it.getId(),
@@ -181,28 +462,97 @@ public class OrderService {
                 saved.getId(),
                 saved.getOrderReference(),
                 saved.getCustomerId(),
-                customer != null ? customer.getName() : "Unknown",
+                customerName,
                 itemsResp,
                 saved.getSubtotal(),
                 saved.getVat(),
                 saved.getTotal(),
-                DateFormatter.formatInstant(saved.getCreatedAt()),
-                DateFormatter.formatInstant(saved.getCancelledAt()),
+                dateFormatter.formatInstant(saved.getCreatedAt()),
+                dateFormatter.formatInstant(saved.getCancelledAt()),
                 saved.getStatus()
         );
     }
 
-    @Transactional
+    /**
+     * Cancels the order with a conditional update, so of concurrent cancellations exactly one applies
+     * the cancellation and records its side effects while the others return the cancelled order.
+     * An attempt that loses against another modification of the order is retried in a new
+     * transaction with exponential backoff; once the attempts are exhausted a
+     * {@link ConflictException} is thrown.
+     */
+    @Timed(value = "orders.operation", extraTags = {"operation", "cancel"}, histogram = true)
     public OrderResponse cancelOrder(Long id) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                OrderResponse response = transaction.execute(status -> tryCancel(id));
+                if (response != null) {
+                    return response;
+                }
+            } catch (ConcurrencyFailureException e) {
+                // lock timeout or optimistic lock failure, retried like a lost conditional update
+            }
+            orderMetrics.recordCancelConflict();
+            if (attempt == CANCEL_MAX_ATTEMPTS) {
+                throw new ConflictException("Order " + id + " was modified concurrently, please retry");
+            }
+            backOff(attempt);
+        }
+    }
+
+    /**
+     * Returns the cancelled order, or {@code null} if the order changed between reading and updating
+     * it without being cancelled.
+     */
+    private OrderResponse tryCancel(Long id) {
         var order = salesOrderRepository.findById(id).orElseThrow(() -> new NotFoundException("Order not found: " + id));
         if ("CANCELLED".equals(order.getStatus())) {
             // already cancelled; return current state
-        } else {
-            order.setStatus("CANCELLED");
-            order.setCancelledAt(java.time.Instant.now());
-            salesOrderRepository.save(order);
+            return mapToOrderResponse(order);
         }
 
+        String previousStatus = order.getStatus();
+        Instant cancelledAt = Instant.now();
+        if (salesOrderRepository.cancelIfUnchanged(id, order.getVersion(), cancelledAt) == 0) {
+            // Lost to a concurrent cancel: the caller gets what it asked for, which is no conflict
+            return salesOrderRepository.findById(id)
+                    .filter(current -> "CANCELLED".equals(current.getStatus()))
+                    .map(this::mapToOrderResponse)
+                    .orElse(null);
+        }
+
+        // The update detached the order; bring the copy in line with the row for the side effects
+        order.setStatus("CANCELLED");
+        order.setCancelledAt(cancelledAt);
+        order.setVersion(order.getVersion() == null ? null : order.getVersion() + 1);
+        dailySalesSummaryService.recordCancelled(order, previousStatus);
+        orderEventOutbox.recordCancelled(order);
+        recentOrderWrites.record(order);
+        orderResponseCache.evict(id);
         return mapToOrderResponse(order);
     }
+
+    private static void backOff(int attempt) {
+        long ceiling = CANCEL_BACKOFF_MILLIS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying to cancel order");
+        }
+    }
+
+    /**
+     * A page of orders loaded by {@link #loadOrderPage(OrderQueryParams, OrderFields)}.
+     */
+    @FunctionalInterface
+    public interface OrderPageContent {
+
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * A page and the names of its customers, loaded in a transaction to be written after it.
+     */
+    private record LoadedPage<T>(PageResponse<T> page, Map<Long, String> customerNames) {
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.SalesOrder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Orders this instance created or cancelled within the read-your-writes window
+ * ({@code app.read-replicas.read-your-writes-window}). Reads of these orders go to the primary,
+ * so a client never sees its own change undone by a lagging replica. Orders are keyed by
+ * {@code orderReference}, with their id as a second key for reads by id.
+ */
+@Component
+public class RecentOrderWrites {
+
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    private final Cache<String, Boolean> references;
+    private final Cache<Long, Boolean> ids;
+
+    public RecentOrderWrites(@Value("${app.read-replicas.read-your-writes-window:5s}") Duration window) {
+        this.references = Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(window).build();
+        this.ids = Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(window).build();
+    }
+
+    public void record(SalesOrder order) {
+        references.put(order.getOrderReference(), Boolean.TRUE);
+        if (order.getId() != null) {
+            ids.put(order.getId(), Boolean.TRUE);
+        }
+    }
+
+    public boolean contains(String orderReference) {
+        return references.getIfPresent(orderReference) != null;
+    }
+
+    public boolean contains(Long id) {
+        return ids.getIfPresent(id) != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.salesorder.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * The time zone order dates are reported, filtered and summarized in. Resolved once at startup
+ * from {@code app.time-zone} (a zone id such as {@code Europe/Berlin}), defaulting to the zone of
+ * the JVM.
+ */
+@Component
+public class BusinessTimeZone {
+
+    private final ZoneId zone;
+
+    public BusinessTimeZone(@Value("${app.time-zone:}") String zoneId) {
+        this.zone = zoneId == null || zoneId.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zoneId);
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public LocalDate toDate(Instant instant) {
+        return LocalDate.ofInstant(instant, zone);
+    }
+
+    public Instant startOfDay(LocalDate date) {
+        return date.atStartOfDay(zone).toInstant();
+    }
+
+    /**
+     * The last second of the day, as used by the inclusive date filters.
+     */
+    public Instant endOfDay(LocalDate date) {
+        return date.atTime(23, 59, 59).atZone(zone).toInstant();
+    }
+}
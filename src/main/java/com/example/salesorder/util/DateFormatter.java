@@ -1,19 +1,73 @@
 package com.example.salesorder.util;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
 
+/**
+ * Renders order dates in the {@link BusinessTimeZone}, as {@code dd/MM/yyyy} or, with
+ * {@code app.date-format=iso}, as ISO-8601 {@code yyyy-MM-dd}.
+ * <p>
+ * Orders of a page mostly fall on a few days, so formatted days are kept in a small direct-mapped
+ * cache keyed by epoch day and a date costs an offset lookup and an array read.
+ */
+@Component
 public class DateFormatter {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-    public static String formatInstant(Instant instant) {
+    public enum Style {
+        DAY_MONTH_YEAR(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
+        ISO(DateTimeFormatter.ISO_LOCAL_DATE);
+
+        private final DateTimeFormatter formatter;
+
+        Style(DateTimeFormatter formatter) {
+            this.formatter = formatter;
+        }
+    }
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    // About eleven years of distinct days before two days share a slot
+    private static final int CACHE_SIZE = 4096;
+
+    private final ZoneRules rules;
+    private final DateTimeFormatter formatter;
+    // Slots are replaced, never mutated: a racing reader sees either the old or the new day
+    private final FormattedDay[] cache = new FormattedDay[CACHE_SIZE];
+
+    @Autowired
+    public DateFormatter(BusinessTimeZone businessTimeZone,
+                         @Value("${app.date-format:day-month-year}") Style style) {
+        this(businessTimeZone.zone(), style);
+    }
+
+    public DateFormatter(ZoneId zone, Style style) {
+        this.rules = zone.getRules();
+        this.formatter = style.formatter;
+    }
+
+    public String formatInstant(Instant instant) {
         if (instant == null) {
             return null;
         }
-        LocalDate date = instant.atZone(ZoneId.systemDefault()).toLocalDate();
-        return date.format(DATE_FORMATTER);
+        long localSeconds = instant.getEpochSecond() + rules.getOffset(instant).getTotalSeconds();
+        long epochDay = Math.floorDiv(localSeconds, SECONDS_PER_DAY);
+
+        int slot = (int) (epochDay & (CACHE_SIZE - 1));
+        FormattedDay cached = cache[slot];
+        if (cached != null && cached.epochDay == epochDay) {
+            return cached.text;
+        }
+        String text = LocalDate.ofEpochDay(epochDay).format(formatter);
+        cache[slot] = new FormattedDay(epochDay, text);
+        return text;
     }
-}
 
+    private record FormattedDay(long epochDay, String text) {
+    }
+}
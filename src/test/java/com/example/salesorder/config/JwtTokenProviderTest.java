@@ -0,0 +1,73 @@
+package com.example.salesorder.config;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 60_000, 100);
+
+    @Test
+    void resolveClaims_ValidToken_ReturnsClaims() {
+        // Given
+        String token = jwtTokenProvider.generateToken("alice", "USER");
+
+        // When
+        Claims claims = jwtTokenProvider.resolveClaims(token);
+
+        // Then
+        assertNotNull(claims);
+        assertEquals("alice", claims.getSubject());
+        assertEquals("USER", claims.get("role", String.class));
+        assertTrue(jwtTokenProvider.validateToken(token));
+        assertEquals("alice", jwtTokenProvider.getUsernameFromToken(token));
+    }
+
+    @Test
+    void resolveClaims_RepeatedToken_IsServedFromCache() {
+        // Given
+        String token = jwtTokenProvider.generateToken("alice", "USER");
+
+        // When
+        Claims first = jwtTokenProvider.resolveClaims(token);
+        Claims second = jwtTokenProvider.resolveClaims(token);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void resolveClaims_TamperedToken_ReturnsNull() {
+        // Given
+        String token = jwtTokenProvider.generateToken("alice", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertNull(jwtTokenProvider.resolveClaims(tampered));
+        assertFalse(jwtTokenProvider.validateToken("not-a-jwt"));
+    }
+
+    @Test
+    void resolveClaims_TokenFromOtherKey_ReturnsNull() {
+        // Given
+        JwtTokenProvider otherIssuer = new JwtTokenProvider(SECRET + "-other", 60_000, 100);
+        String token = otherIssuer.generateToken("mallory", "ADMIN");
+
+        // When & Then
+        assertNull(jwtTokenProvider.resolveClaims(token));
+    }
+
+    @Test
+    void resolveClaims_ExpiredToken_ReturnsNull() {
+        // Given
+        JwtTokenProvider expiredIssuer = new JwtTokenProvider(SECRET, -1_000, 100);
+        String token = expiredIssuer.generateToken("alice", "USER");
+
+        // When & Then
+        assertNull(jwtTokenProvider.resolveClaims(token));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.salesorder.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final RateLimitFilter filter = new RateLimitFilter(true,
+            Map.of(Role.USER, new RateLimitFilter.Limit(1, 2), Role.ADMIN, new RateLimitFilter.Limit(100, 100)),
+            Duration.ofMinutes(10), 1, Duration.ofMillis(20), registry);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_UserOverBurst_ReturnsTooManyRequests() throws Exception {
+        // Given
+        authenticate("alice", "USER");
+        assertEquals(200, call("/api/v1/orders").getStatus());
+        assertEquals(200, call("/api/v1/orders").getStatus());
+
+        // When
+        MockHttpServletResponse response = call("/api/v1/orders");
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(1.0, registry.get("admission.requests").tag("result", "rate_limited").counter().count());
+        assertEquals(2.0, registry.get("admission.requests").tag("result", "admitted").counter().count());
+    }
+
+    @Test
+    void doFilter_LimitsEachClientSeparately() throws Exception {
+        // Given
+        authenticate("alice", "USER");
+        call("/api/v1/orders");
+        call("/api/v1/orders");
+
+        // When
+        authenticate("bob", "USER");
+
+        // Then
+        assertEquals(200, call("/api/v1/orders").getStatus());
+    }
+
+    @Test
+    void doFilter_AdminUsesAdminLimit() throws Exception {
+        // Given
+        authenticate("root", "ADMIN");
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, call("/api/v1/orders").getStatus());
+        }
+    }
+
+    @Test
+    void doFilter_NonApiPath_IsNotLimited() throws Exception {
+        // Given
+        authenticate("alice", "USER");
+
+        // When / Then
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call("/actuator/prometheus").getStatus());
+        }
+    }
+
+    @Test
+    void doFilter_NoFreeSlot_ReturnsServiceUnavailable() throws Exception {
+        // Given
+        CountDownLatch inChain = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request("/api/v1/orders/export"), new MockHttpServletResponse(), (req, res) -> {
+                    inChain.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inChain.await(5, TimeUnit.SECONDS));
+
+        // When
+        MockHttpServletResponse response = call("/api/v1/orders");
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(1.0, registry.get("admission.in.flight").gauge().value());
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertEquals(200, call("/api/v1/orders").getStatus());
+    }
+
+    private static void authenticate(String subject, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                subject, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    private MockHttpServletResponse call(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.salesorder.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        dataSource = new ReadReplicaRoutingDataSource(primary, List.of(replica1, replica2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_ReadOnly_UsesReplicasRoundRobin() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica2Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_ReadWriteOrPrimaryForced_UsesPrimary() throws SQLException {
+        // When & Then
+        assertSame(primaryConnection, dataSource.getConnection());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, ReplicaRouting.onPrimary(this::connection));
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
+    @Test
+    void getConnection_ReplicaFails_FallsBackAndRecoversAfterHealthCheck() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("down")).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenThrow(new SQLException("down")).thenReturn(replica2Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+
+        // When
+        Connection whileDown = dataSource.getConnection();
+        int healthyWhileDown = dataSource.healthyReplicas();
+        dataSource.checkReplicas();
+
+        // Then
+        assertSame(primaryConnection, whileDown);
+        assertEquals(0, healthyWhileDown);
+        assertEquals(2, dataSource.healthyReplicas());
+        assertNotSame(primaryConnection, dataSource.getConnection());
+    }
+
+    private Connection connection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
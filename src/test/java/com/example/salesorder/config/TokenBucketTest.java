@@ -0,0 +1,76 @@
+package com.example.salesorder.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_BurstExhausted_ReturnsWaitForNextToken() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+
+        // When / Then
+        assertEquals(100 * MILLIS, bucket.tryAcquire(0));
+        assertEquals(40 * MILLIS, bucket.tryAcquire(60 * MILLIS));
+        assertEquals(0, bucket.tryAcquire(100 * MILLIS));
+    }
+
+    @Test
+    void tryAcquire_AfterIdling_RefillsOnlyUpToBurst() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        // When
+        long later = TimeUnit.SECONDS.toNanos(60);
+        int taken = 0;
+        while (bucket.tryAcquire(later) == 0) {
+            taken++;
+        }
+
+        // Then
+        assertEquals(2, taken);
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallers_NeverExceedBurst() throws InterruptedException {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 100, 0);
+        AtomicInteger taken = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 50; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        taken.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(100, taken.get());
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.salesorder.controller;
 
+import com.example.salesorder.dto.OrderFields;
+import com.example.salesorder.exception.BadRequestException;
 import com.example.salesorder.dto.OrderResponse;
-import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.service.OrderResponseCache;
 import com.example.salesorder.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,6 +20,8 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +37,9 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @Autowired
+    private OrderResponseCache orderResponseCache;
+
     @Test
     void getOrderById_Success() throws Exception {
         // Given
@@ -40,30 +49,87 @@ class OrderControllerTest {
                 "01/01/2024", null, "CREATED"
         );
 
-        when(orderService.getOrderById(1L)).thenReturn(response);
+        when(orderService.getCachedOrderById(1L)).thenReturn(orderResponseCache.entry(3L, response));
 
         // When & Then
         mockMvc.perform(get("/api/v1/orders/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.customerName").value("Test Customer"));
     }
 
     @Test
-    void listOrders_Success() throws Exception {
+    void getOrderById_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
         // Given
-        PageResponse<OrderResponse> pageResponse = new PageResponse<>(
-                List.of(), 0, 20, 0L, 0, true, true
+        OrderResponse response = new OrderResponse(
+                1L, "ref-123", 1L, "Test Customer",
+                List.of(), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                "01/01/2024", null, "CREATED"
         );
 
-        when(orderService.listOrders(any())).thenReturn(pageResponse);
+        when(orderService.getCachedOrderById(1L)).thenReturn(orderResponseCache.entry(3L, response));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/orders/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/orders/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listOrders_Success() throws Exception {
+        // Given
+        when(orderService.loadOrderPage(any(), eq(OrderFields.ALL))).thenReturn(generator -> {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
 
         // When & Then
         mockMvc.perform(get("/api/v1/orders")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.content").isArray());
     }
-}
 
+    @Test
+    void listOrders_SummaryView_PassesSummaryFields() throws Exception {
+        // Given
+        when(orderService.loadOrderPage(any(), eq(OrderFields.SUMMARY))).thenReturn(JsonGenerator::writeNull);
+
+        // When
+        mockMvc.perform(get("/api/v1/orders").param("view", "summary"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(orderService).loadOrderPage(any(), eq(OrderFields.SUMMARY));
+    }
+
+    @Test
+    void listOrders_LoadFailure_KeepsErrorContentType() throws Exception {
+        // Given
+        when(orderService.loadOrderPage(any(), any())).thenThrow(new BadRequestException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/orders"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string("Invalid cursor"))
+                .andExpect(header().doesNotExist(HttpHeaders.VARY));
+    }
+
+    @Test
+    void listOrders_UnknownField_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/orders").param("fields", "total,secret"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.salesorder.integration;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.domain.IdempotencyKey;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.exception.ConflictException;
+import com.example.salesorder.repository.CatalogItemRepository;
+import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderEventRepository;
+import com.example.salesorder.repository.IdempotencyKeyRepository;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Not transactional: the deduplication relies on committed keys and on concurrent requests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CatalogItemRepository catalogItemRepository;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    // Spied to hide a key that another instance commits between the lookup and the insert
+    @SpyBean
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    private CreateOrderRequest request;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Customer customer = customerRepository.save(new Customer("Idempotency Test Customer"));
+        CatalogItem item = catalogItemRepository.save(new CatalogItem("SKU-IDEM-001", "Idempotent Item", BigDecimal.TEN));
+        request = new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(item.getId(), 2)));
+        // Keys stay in the in-memory front across tests, so each test uses its own
+        key = UUID.randomUUID().toString();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        idempotencyKeyRepository.deleteAll();
+        orderEventRepository.deleteAll();
+        dailySalesSummaryRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        catalogItemRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void createOrder_SameKeyTwice_ReplaysFirstOrder() {
+        // When
+        IdempotencyService.Result first = idempotencyService.createOrder("alice", key, request);
+        IdempotencyService.Result retry = idempotencyService.createOrder("alice", key, request);
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.order().id(), retry.order().id());
+        assertEquals(first.order().orderReference(), retry.order().orderReference());
+        assertEquals(0, first.order().total().compareTo(retry.order().total()));
+        assertEquals(1, salesOrderRepository.count());
+    }
+
+    @Test
+    void createOrder_SameKeyOtherCaller_CreatesSeparateOrder() {
+        // When
+        IdempotencyService.Result alice = idempotencyService.createOrder("alice", key, request);
+        IdempotencyService.Result bob = idempotencyService.createOrder("bob", key, request);
+
+        // Then
+        assertNotEquals(alice.order().id(), bob.order().id());
+        assertEquals(2, salesOrderRepository.count());
+    }
+
+    @Test
+    void createOrder_LongCallerName_StoresKey() {
+        // Given
+        String caller = "x".repeat(250);
+
+        // When
+        IdempotencyService.Result first = idempotencyService.createOrder(caller, "k".repeat(100), request);
+        IdempotencyService.Result retry = idempotencyService.createOrder(caller, "k".repeat(100), request);
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(1, idempotencyKeyRepository.count());
+    }
+
+    @Test
+    void createOrder_SameKeyDifferentRequest_Conflicts() {
+        // Given
+        idempotencyService.createOrder("alice", key, request);
+        CreateOrderRequest other = new CreateOrderRequest(request.customerId(),
+                List.of(new OrderItemRequest(request.items().get(0).catalogItemId(), 5)));
+
+        // When / Then
+        assertThrows(ConflictException.class, () -> idempotencyService.createOrder("alice", key, other));
+        assertEquals(1, salesOrderRepository.count());
+    }
+
+    @Test
+    void createOrder_KeyCommittedByOtherInstanceBeforeInsert_ReplaysItsOrder() throws Exception {
+        // Given another instance created an order for the key and committed the key after our lookup
+        IdempotencyService.Result other = idempotencyService.createOrder("alice", UUID.randomUUID().toString(), request);
+        String scopedKey = sha256("alice:" + key);
+        Instant now = Instant.now();
+        idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(scopedKey, other.order().orderReference(),
+                sha256(request.toString()), now, now.plus(Duration.ofHours(1))));
+        doReturn(Optional.empty()).doCallRealMethod().when(idempotencyKeyRepository).findById(scopedKey);
+
+        // When
+        IdempotencyService.Result result = idempotencyService.createOrder("alice", key, request);
+
+        // Then the insert fails on the primary key and the other instance's order is replayed
+        assertTrue(result.replayed());
+        assertEquals(other.order().id(), result.order().id());
+        assertEquals(1, salesOrderRepository.count());
+        assertEquals(other.order().orderReference(),
+                idempotencyKeyRepository.findById(scopedKey).orElseThrow().getOrderReference());
+    }
+
+    @Test
+    void createOrder_ConcurrentRetries_CreateOneOrder() throws Exception {
+        // Given
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyService.createOrder("alice", key, request);
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        assertEquals(1, salesOrderRepository.count());
+        long created = 0;
+        for (Future<IdempotencyService.Result> result : results) {
+            assertEquals(results.get(0).get().order().id(), result.get().order().id());
+            created += result.get().replayed() ? 0 : 1;
+        }
+        assertEquals(1, created);
+    }
+
+    private static String sha256(String value) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+}
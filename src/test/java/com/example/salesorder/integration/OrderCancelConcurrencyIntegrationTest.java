@@ -0,0 +1,112 @@
+package com.example.salesorder.integration;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.domain.DailySalesSummary;
+import com.example.salesorder.domain.OrderEvent;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.repository.CatalogItemRepository;
+import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderEventRepository;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: concurrent cancellations each run in their own committed transactions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderCancelConcurrencyIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CatalogItemRepository catalogItemRepository;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    private OrderResponse order;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Customer customer = customerRepository.save(new Customer("Cancel Test Customer"));
+        CatalogItem item = catalogItemRepository.save(new CatalogItem("SKU-CANCEL-001", "Cancelled Item", BigDecimal.TEN));
+        order = orderService.createOrder(new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(item.getId(), 2))));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderEventRepository.deleteAll();
+        dailySalesSummaryRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        catalogItemRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void cancelOrder_ConcurrentRequests_CancelOnce() throws Exception {
+        // Given
+        int attempts = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return orderService.cancelOrder(order.id());
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        String cancellationDate = results.get(0).get().cancellationDate();
+        for (Future<OrderResponse> result : results) {
+            assertEquals("CANCELLED", result.get().status());
+            assertEquals(cancellationDate, result.get().cancellationDate());
+        }
+        assertEquals(1L, salesOrderRepository.findById(order.id()).orElseThrow().getVersion());
+
+        long cancelledEvents = orderEventRepository.findAll().stream()
+                .filter(e -> OrderEvent.ORDER_CANCELLED.equals(e.getEventType()))
+                .count();
+        assertEquals(1, cancelledEvents);
+
+        List<DailySalesSummary> summaries = dailySalesSummaryRepository.findAll();
+        assertEquals(1, summaries.stream().filter(s -> "CANCELLED".equals(s.getStatus())).mapToLong(DailySalesSummary::getOrderCount).sum());
+        assertEquals(0, summaries.stream().filter(s -> "CREATED".equals(s.getStatus())).mapToLong(DailySalesSummary::getOrderCount).sum());
+    }
+}
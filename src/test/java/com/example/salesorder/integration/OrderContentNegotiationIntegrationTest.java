@@ -0,0 +1,163 @@
+package com.example.salesorder.integration;
+
+import com.example.salesorder.config.JwtTokenProvider;
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.repository.CatalogItemRepository;
+import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderEventRepository;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.service.OrderService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the embedded server: response compression is applied by Tomcat, not by MockMvc.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OrderContentNegotiationIntegrationTest {
+
+    private static final TypeReference<PageResponse<OrderResponse>> PAGE = new TypeReference<>() {
+    };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CatalogItemRepository catalogItemRepository;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+    private OrderResponse order;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Customer customer = customerRepository.save(new Customer("Negotiation Test Customer"));
+        CatalogItem item = catalogItemRepository.save(new CatalogItem("SKU-NEG-001", "Negotiated Item", new BigDecimal("12.50")));
+        for (int i = 0; i < 30; i++) {
+            order = orderService.createOrder(new CreateOrderRequest(customer.getId(),
+                    List.of(new OrderItemRequest(item.getId(), 1), new OrderItemRequest(item.getId(), 2))));
+        }
+        token = jwtTokenProvider.generateToken("negotiator", "USER");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderEventRepository.deleteAll();
+        dailySalesSummaryRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        catalogItemRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void listOrders_AcceptingGzip_ReturnsCompressedJson() throws Exception {
+        // When
+        HttpResponse<InputStream> response = get("/api/v1/orders?size=30", Map.of("Accept-Encoding", "gzip"));
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        PageResponse<OrderResponse> page;
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            page = objectMapper.readValue(body, PAGE);
+        }
+        assertEquals(30, page.content().size());
+    }
+
+    @Test
+    void listOrders_BinaryFormats_RoundTrip() throws Exception {
+        // Given
+        PageResponse<OrderResponse> expected = objectMapper.readValue(
+                get("/api/v1/orders?size=30", Map.of()).body().readAllBytes(), PAGE);
+
+        for (Map.Entry<String, ObjectMapper> format : Map.of(
+                "application/cbor", (ObjectMapper) new CBORMapper(),
+                "application/x-jackson-smile", new SmileMapper()).entrySet()) {
+            // When
+            HttpResponse<InputStream> response = get("/api/v1/orders?size=30", Map.of("Accept", format.getKey()));
+
+            // Then
+            assertEquals(200, response.statusCode());
+            assertEquals(format.getKey(), response.headers().firstValue("Content-Type").orElse(null));
+            assertEquals(expected, format.getValue().readValue(response.body().readAllBytes(), PAGE));
+        }
+    }
+
+    @Test
+    void getOrderById_Cbor_RoundTripsWithOwnEtag() throws Exception {
+        // When
+        HttpResponse<InputStream> response = get("/api/v1/orders/" + order.id(), Map.of("Accept", "application/cbor"));
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("\"0-cbor\"", response.headers().firstValue("ETag").orElse(null));
+        assertEquals(order, new CBORMapper().readValue(response.body().readAllBytes(), OrderResponse.class));
+    }
+
+    @Test
+    void listOrders_UnsupportedAccept_ReturnsNotAcceptable() throws Exception {
+        // When
+        HttpResponse<InputStream> response = get("/api/v1/orders", Map.of("Accept", "application/xml"));
+
+        // Then
+        assertEquals(406, response.statusCode());
+    }
+
+    private HttpResponse<InputStream> get(String path, Map<String, String> headers) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+        headers.forEach(request::header);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+}
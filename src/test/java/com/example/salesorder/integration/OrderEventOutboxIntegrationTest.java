@@ -0,0 +1,234 @@
+package com.example.salesorder.integration;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.domain.OrderEvent;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.repository.CatalogItemRepository;
+import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderEventRepository;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.service.OrderEventDispatcher;
+import com.example.salesorder.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Publishes through the webhook sink to a local stub. Not transactional: the dispatcher only
+ * sees committed events.
+ */
+@SpringBootTest(properties = {"app.outbox.sink=webhook", "app.outbox.batch-size=2"})
+@ActiveProfiles("test")
+class OrderEventOutboxIntegrationTest {
+
+    private static final HttpServer webhook = startWebhook();
+    private static final List<byte[]> received = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger responseStatus = new AtomicInteger(204);
+    private static final AtomicReference<Runnable> onRequest = new AtomicReference<>(() -> { });
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventDispatcher orderEventDispatcher;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CatalogItemRepository catalogItemRepository;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CreateOrderRequest request;
+
+    @DynamicPropertySource
+    static void webhookUrl(DynamicPropertyRegistry registry) {
+        registry.add("app.outbox.webhook.url",
+                () -> "http://localhost:" + webhook.getAddress().getPort() + "/order-events");
+    }
+
+    private static HttpServer startWebhook() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/order-events", exchange -> {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                onRequest.get().run();
+                int status = responseStatus.get();
+                if (status / 100 == 2) {
+                    received.add(body);
+                }
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stopWebhook() {
+        webhook.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        received.clear();
+        responseStatus.set(204);
+        onRequest.set(() -> { });
+        Customer customer = customerRepository.save(new Customer("Outbox Test Customer"));
+        CatalogItem item = catalogItemRepository.save(new CatalogItem("SKU-OUT-001", "Outbox Item", BigDecimal.TEN));
+        request = new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(item.getId(), 2)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderEventRepository.deleteAll();
+        dailySalesSummaryRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        catalogItemRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void dispatch_PublishesCreatedAndCancelledEventsInBatches() throws Exception {
+        // Given
+        OrderResponse first = orderService.createOrder(request);
+        OrderResponse second = orderService.createOrder(request);
+        orderService.cancelOrder(first.id());
+        double publishedBefore = meterRegistry.counter("outbox.events.published").count();
+
+        // When
+        int published = orderEventDispatcher.dispatch();
+
+        // Then
+        assertEquals(3, published);
+        assertEquals(2, received.size()); // batch size 2
+        List<JsonNode> events = new ArrayList<>();
+        for (byte[] body : received) {
+            objectMapper.readTree(body).forEach(events::add);
+        }
+        assertEquals(List.of(OrderEvent.ORDER_CREATED, OrderEvent.ORDER_CREATED, OrderEvent.ORDER_CANCELLED),
+                events.stream().map(e -> e.get("type").asText()).toList());
+        assertEquals(List.of(first.id(), second.id(), first.id()),
+                events.stream().map(e -> e.get("orderId").asLong()).toList());
+        assertEquals(first.orderReference(), events.get(2).get("orderReference").asText());
+        assertEquals("CANCELLED", events.get(2).get("status").asText());
+        assertEquals(0, orderEventRepository.count());
+        assertEquals(publishedBefore + 3, meterRegistry.counter("outbox.events.published").count());
+        assertTrue(meterRegistry.find("outbox.event.lag").timer().count() >= 3);
+    }
+
+    @Test
+    void dispatch_WebhookFailure_KeepsEventsForNextPoll() {
+        // Given
+        orderService.createOrder(request);
+        responseStatus.set(503);
+        double failuresBefore = meterRegistry.counter("outbox.publish.failures").count();
+
+        // When
+        int publishedWhileDown = orderEventDispatcher.dispatch();
+        responseStatus.set(204);
+        int publishedAfterRecovery = orderEventDispatcher.dispatch();
+
+        // Then
+        assertEquals(0, publishedWhileDown);
+        assertEquals(failuresBefore + 1, meterRegistry.counter("outbox.publish.failures").count());
+        assertEquals(1, publishedAfterRecovery);
+        assertEquals(1, received.size());
+        assertEquals(0, orderEventRepository.count());
+    }
+
+    @Test
+    void dispatch_PublishesCommittedClaimOutsideTransaction() {
+        // Given
+        orderService.createOrder(request);
+        List<OrderEvent> seenByWebhook = new CopyOnWriteArrayList<>();
+        onRequest.set(() -> seenByWebhook.addAll(orderEventRepository.findAll()));
+
+        // When
+        int published = orderEventDispatcher.dispatch();
+
+        // Then the webhook ran after the claim committed, from its own connection
+        assertEquals(1, published);
+        assertEquals(1, seenByWebhook.size());
+        assertNotNull(seenByWebhook.get(0).getClaimedUntil());
+        assertEquals(0, orderEventRepository.count());
+    }
+
+    @Test
+    void dispatch_ExpiredClaim_IsPublishedAgain() {
+        // Given an event claimed by a dispatcher that died while publishing
+        orderService.createOrder(request);
+        OrderEvent event = orderEventRepository.findAll().get(0);
+        event.setClaimedUntil(Instant.now().minusSeconds(1));
+        orderEventRepository.save(event);
+
+        // When
+        int published = orderEventDispatcher.dispatch();
+
+        // Then
+        assertEquals(1, published);
+        assertEquals(0, orderEventRepository.count());
+    }
+
+    @Test
+    void dispatch_LiveClaim_IsSkipped() {
+        // Given an event another dispatcher is publishing
+        orderService.createOrder(request);
+        OrderEvent event = orderEventRepository.findAll().get(0);
+        event.setClaimedUntil(Instant.now().plusSeconds(60));
+        orderEventRepository.save(event);
+
+        // When
+        int published = orderEventDispatcher.dispatch();
+
+        // Then
+        assertEquals(0, published);
+        assertTrue(received.isEmpty());
+        assertEquals(1, orderEventRepository.count());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.salesorder.integration;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.domain.DailySalesSummary;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.exception.NotFoundException;
+import com.example.salesorder.repository.CatalogItemRepository;
+import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderEventRepository;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.service.OrderIngestionQueue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: orders are created by the ingestion writer thread in their own transactions.
+ */
+@SpringBootTest(properties = {
+        "app.order-ingestion.mode=group-commit",
+        "app.order-ingestion.max-delay=50ms"
+})
+@ActiveProfiles("test")
+class OrderIngestionIntegrationTest {
+
+    @Autowired
+    private OrderIngestionQueue orderIngestionQueue;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CatalogItemRepository catalogItemRepository;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    private Customer customer;
+    private CatalogItem item;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        customer = customerRepository.save(new Customer("Ingestion Test Customer"));
+        item = catalogItemRepository.save(new CatalogItem("SKU-INGEST-001", "Ingested Item", new BigDecimal("4.00")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderEventRepository.deleteAll();
+        dailySalesSummaryRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        catalogItemRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void createOrder_ConcurrentOrders_AreCommittedInGroups() throws Exception {
+        // Given
+        int orders = 40;
+        DistributionSummary groups = meterRegistry.get("orders.ingestion.group.size").summary();
+        long groupsBefore = groups.count();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(orders)) {
+            for (int i = 0; i < orders; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return orderIngestionQueue.createOrder(
+                            new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(item.getId(), 3))));
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        Set<Long> ids = new HashSet<>();
+        for (Future<OrderResponse> result : results) {
+            OrderResponse order = result.get();
+            assertEquals("Ingestion Test Customer", order.customerName());
+            assertEquals(0, new BigDecimal("13.80").compareTo(order.total()));
+            assertTrue(salesOrderRepository.existsById(order.id()));
+            ids.add(order.id());
+        }
+        assertEquals(orders, ids.size());
+        assertEquals(orders, orderEventRepository.count());
+        assertEquals(orders, dailySalesSummaryRepository.findAll().stream().mapToLong(DailySalesSummary::getOrderCount).sum());
+        assertTrue(groups.count() - groupsBefore < orders);
+    }
+
+    @Test
+    void createOrder_UnknownCustomer_ThrowsNotFound() {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(-1L, List.of(new OrderItemRequest(item.getId(), 1)));
+
+        // When / Then
+        assertThrows(NotFoundException.class, () -> orderIngestionQueue.createOrder(request));
+        assertEquals(0, salesOrderRepository.count());
+    }
+}
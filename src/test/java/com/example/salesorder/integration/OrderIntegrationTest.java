@@ -2,13 +2,34 @@ package com.example.salesorder.integration;
 
 import com.example.salesorder.domain.CatalogItem;
 import com.example.salesorder.domain.Customer;
+import com.example.salesorder.dto.BatchOrderResponse;
 import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.ExportFormat;
 import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderFields;
+import com.example.salesorder.dto.OrderQueryParams;
 import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.dto.PageResponse;
+import com.example.salesorder.dto.SalesSummaryResponse;
 import com.example.salesorder.repository.CatalogItemRepository;
 import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderEventRepository;
 import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.service.CustomerNameLookup;
+import com.example.salesorder.service.DailySalesSummaryService;
+import com.example.salesorder.service.OrderExportService;
+import com.example.salesorder.service.OrderResponseCache;
 import com.example.salesorder.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +37,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,11 +62,37 @@ class OrderIntegrationTest {
     @Autowired
     private SalesOrderRepository salesOrderRepository;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DailySalesSummaryService dailySalesSummaryService;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private CustomerNameLookup customerNameLookup;
+
     private Customer customer;
     private CatalogItem catalogItem;
 
     @BeforeEach
     void setUp() {
+        dailySalesSummaryRepository.deleteAll();
+        orderEventRepository.deleteAll();
         salesOrderRepository.deleteAll();
         catalogItemRepository.deleteAll();
         customerRepository.deleteAll();
@@ -73,6 +123,32 @@ class OrderIntegrationTest {
         assertNotNull(response.creationDate());
     }
 
+    @Test
+    void createOrder_RecordsOperationMetrics() {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(
+                customer.getId(),
+                List.of(new OrderItemRequest(catalogItem.getId(), 1), new OrderItemRequest(catalogItem.getId(), 2))
+        );
+        long timedBefore = operationCount("create");
+        double itemsBefore = meterRegistry.summary("orders.items").totalAmount();
+
+        // When
+        orderService.createOrder(request);
+        orderService.listOrders(new OrderQueryParams(null, null, null, null, 0, 20, null, null, null));
+
+        // Then
+        assertEquals(timedBefore + 1, operationCount("create"));
+        assertEquals(itemsBefore + 2, meterRegistry.summary("orders.items").totalAmount());
+        assertTrue(operationCount("list") > 0);
+        assertTrue(meterRegistry.summary("orders.page.rows").count() > 0);
+    }
+
+    private long operationCount(String operation) {
+        Timer timer = meterRegistry.find("orders.operation").tag("operation", operation).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
     @Test
     void getOrderById_IntegrationTest() {
         // Given
@@ -91,6 +167,34 @@ class OrderIntegrationTest {
         assertEquals(customer.getName(), retrieved.customerName());
     }
 
+    @Test
+    void getCachedOrderById_ServesRepeatedReadsFromCacheUntilCancelled() throws Exception {
+        // Given
+        OrderResponse created = orderService.createOrder(new CreateOrderRequest(
+                customer.getId(),
+                List.of(new OrderItemRequest(catalogItem.getId(), 2))
+        ));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        OrderResponseCache.Entry first = orderService.getCachedOrderById(created.id());
+        statistics.clear();
+
+        // When
+        OrderResponseCache.Entry second = orderService.getCachedOrderById(created.id());
+        long cachedReadStatements = statistics.getPrepareStatementCount();
+        orderService.cancelOrder(created.id());
+        entityManager.flush();
+        OrderResponseCache.Entry afterCancel = orderService.getCachedOrderById(created.id());
+
+        // Then
+        assertSame(first, second);
+        assertEquals(0, cachedReadStatements);
+        assertEquals(created.id(), objectMapper.readTree(first.json()).get("id").asLong());
+        assertNotEquals(first.etag(), afterCancel.etag());
+        assertEquals("CANCELLED", objectMapper.readTree(afterCancel.json()).get("status").asText());
+    }
+
     @Test
     void cancelOrder_IntegrationTest() {
         // Given
@@ -107,5 +211,288 @@ class OrderIntegrationTest {
         assertEquals("CANCELLED", cancelled.status());
         assertNotNull(cancelled.cancellationDate());
     }
-}
 
+    @Test
+    void listOrders_StatementCountIndependentOfPageSize() {
+        // Given
+        Customer otherCustomer = customerRepository.save(new Customer("Second Customer"));
+        for (int i = 0; i < 30; i++) {
+            Long customerId = i % 2 == 0 ? customer.getId() : otherCustomer.getId();
+            orderService.createOrder(new CreateOrderRequest(
+                    customerId,
+                    List.of(new OrderItemRequest(catalogItem.getId(), 1), new OrderItemRequest(catalogItem.getId(), 2))
+            ));
+        }
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        long smallPageStatements = countStatements(statistics, 5);
+        long largePageStatements = countStatements(statistics, 25);
+
+        // Then
+        assertEquals(smallPageStatements, largePageStatements);
+        assertTrue(largePageStatements <= 4, "Expected at most 4 statements but was " + largePageStatements);
+    }
+
+    private long countStatements(Statistics statistics, int size) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        PageResponse<OrderResponse> page = orderService.listOrders(
+                new OrderQueryParams(null, null, null, null, 0, size, "createdAt", "desc", null));
+
+        assertEquals(size, page.content().size());
+        assertEquals(2, page.content().get(0).items().size());
+        assertNotEquals("Unknown", page.content().get(0).customerName());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void listOrders_SummaryViewDoesNotLoadItems() {
+        // Given
+        OrderResponse created = null;
+        for (int i = 0; i < 5; i++) {
+            created = orderService.createOrder(new CreateOrderRequest(
+                    customer.getId(),
+                    List.of(new OrderItemRequest(catalogItem.getId(), 1), new OrderItemRequest(catalogItem.getId(), 2))
+            ));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        PageResponse<OrderResponse> page = orderService.listOrders(
+                new OrderQueryParams(null, null, null, null, 0, 5, "createdAt", "desc", null), OrderFields.SUMMARY);
+
+        // Then
+        OrderResponse first = page.content().get(0);
+        assertEquals(5, page.content().size());
+        assertEquals(customer.getName(), first.customerName());
+        assertEquals(0, created.total().compareTo(first.total()));
+        assertNull(first.items());
+        assertNull(first.subtotal());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void loadOrderPage_WritesSerializedListOrders() throws Exception {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            orderService.createOrder(new CreateOrderRequest(
+                    customer.getId(),
+                    List.of(new OrderItemRequest(catalogItem.getId(), 1), new OrderItemRequest(catalogItem.getId(), 2))
+            ));
+        }
+        OrderResponse cancelled = orderService.createOrder(new CreateOrderRequest(
+                customer.getId(), List.of(new OrderItemRequest(catalogItem.getId(), 3))));
+        orderService.cancelOrder(cancelled.id());
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderQueryParams offset = new OrderQueryParams(null, null, null, null, 0, 3, "createdAt", "desc", null);
+        OrderQueryParams keyset = new OrderQueryParams(null, null, null, null, null, 3, "createdAt", "desc", "");
+        List<OrderFields> variants = List.of(OrderFields.ALL, OrderFields.SUMMARY,
+                OrderFields.parse("items,cancellationDate,customerId", null));
+
+        for (OrderQueryParams params : List.of(offset, keyset)) {
+            for (OrderFields fields : variants) {
+                // When
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                    orderService.loadOrderPage(params, fields).writeTo(generator);
+                }
+
+                // Then
+                JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(orderService.listOrders(params, fields)));
+                expected.get("content").forEach(order -> ((ObjectNode) order).retain(fields.names()));
+                assertEquals(expected, objectMapper.readTree(out.toByteArray()), fields + " " + params);
+            }
+        }
+    }
+
+    @Test
+    void listOrders_KeysetPagingWalksAllOrdersOnce() {
+        // Given
+        for (int i = 0; i < 7; i++) {
+            orderService.createOrder(new CreateOrderRequest(
+                    customer.getId(), List.of(new OrderItemRequest(catalogItem.getId(), i + 1))));
+        }
+        List<Long> offsetIds = orderService.listOrders(
+                new OrderQueryParams(null, null, null, null, 0, 10, "createdAt", "desc", null))
+                .content().stream().map(OrderResponse::id).toList();
+
+        // When
+        List<Long> keysetIds = new java.util.ArrayList<>();
+        String cursor = "";
+        int slices = 0;
+        while (cursor != null) {
+            PageResponse<OrderResponse> slice = orderService.listOrders(
+                    new OrderQueryParams(null, null, null, null, null, 3, "createdAt", "desc", cursor));
+            assertNull(slice.totalElements());
+            slice.content().forEach(o -> keysetIds.add(o.id()));
+            cursor = slice.nextCursor();
+            slices++;
+        }
+
+        // Then
+        assertEquals(3, slices);
+        assertEquals(offsetIds, keysetIds);
+    }
+
+    @Test
+    void createOrder_BatchesOrderItemInserts() {
+        // Given
+        List<OrderItemRequest> lines = java.util.stream.IntStream.rangeClosed(1, 50)
+                .mapToObj(q -> new OrderItemRequest(catalogItem.getId(), q))
+                .toList();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        entityManager.flush();
+        statistics.clear();
+
+        // When
+        orderService.createOrder(new CreateOrderRequest(customer.getId(), lines));
+        entityManager.flush();
+
+        // Then
+        assertEquals(52, statistics.getEntityInsertCount()); // order, 50 items and the outbox event
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "Expected batched inserts but " + statistics.getPrepareStatementCount() + " statements were prepared");
+    }
+
+    @Test
+    void createOrder_UsesNewPriceAfterCatalogUpdate() {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(
+                customer.getId(),
+                List.of(new OrderItemRequest(catalogItem.getId(), 1))
+        );
+        orderService.createOrder(request);
+
+        // When
+        catalogItem.setPrice(BigDecimal.valueOf(30.00));
+        catalogItemRepository.saveAndFlush(catalogItem);
+        OrderResponse response = orderService.createOrder(request);
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(30.00).compareTo(response.items().get(0).itemPrice()));
+    }
+
+    @Test
+    void getOrderById_UsesNewCustomerNameAfterCustomerUpdate() {
+        // Given
+        OrderResponse created = orderService.createOrder(new CreateOrderRequest(
+                customer.getId(),
+                List.of(new OrderItemRequest(catalogItem.getId(), 1))
+        ));
+
+        // When
+        customer.setName("Renamed Customer");
+        customerRepository.saveAndFlush(customer);
+        OrderResponse response = orderService.getOrderById(created.id());
+
+        // Then
+        assertEquals("Renamed Customer", response.customerName());
+    }
+
+    @Test
+    void createOrders_InvalidOrdersDoNotPreventOthers() {
+        // Given
+        List<CreateOrderRequest> requests = List.of(
+                new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(catalogItem.getId(), 1))),
+                new CreateOrderRequest(-1L, List.of(new OrderItemRequest(catalogItem.getId(), 1))),
+                new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(-1L, 1))),
+                new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(catalogItem.getId(), 0))),
+                new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(catalogItem.getId(), 4)))
+        );
+
+        // When
+        BatchOrderResponse response = orderService.createOrders(requests);
+
+        // Then
+        assertEquals(2, response.created());
+        assertEquals(3, response.failed());
+        assertEquals(List.of("CREATED", "FAILED", "FAILED", "FAILED", "CREATED"),
+                response.results().stream().map(BatchOrderResponse.Result::status).toList());
+        assertEquals("Customer not found: -1", response.results().get(1).error());
+        assertEquals("Catalog item not found: -1", response.results().get(2).error());
+        assertEquals(customer.getName(), response.results().get(4).order().customerName());
+        assertEquals(2, salesOrderRepository.count());
+    }
+
+    @Test
+    void exportOrders_WritesOneLinePerOrder() throws Exception {
+        // Given
+        orderService.createOrder(new CreateOrderRequest(customer.getId(), List.of(
+                new OrderItemRequest(catalogItem.getId(), 1), new OrderItemRequest(catalogItem.getId(), 2))));
+        orderService.createOrder(new CreateOrderRequest(customer.getId(), List.of(
+                new OrderItemRequest(catalogItem.getId(), 3))));
+        OrderQueryParams params = new OrderQueryParams(null, null, null, null, null, null, null, null, null);
+
+        // When
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        orderExportService.export(params, ExportFormat.NDJSON, ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        orderExportService.export(params, ExportFormat.CSV, csv);
+
+        // Then
+        List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(2, first.get("items").size());
+        assertEquals(customer.getName(), first.get("customerName").asText());
+        assertEquals(1, objectMapper.readTree(lines.get(1)).get("items").size());
+
+        List<String> rows = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).startsWith("id,orderReference"));
+        assertTrue(rows.get(1).endsWith(",CREATED,2"));
+    }
+
+    @Test
+    void salesSummary_TracksCreatedAndCancelledOrdersAndMatchesRebuild() {
+        // Given
+        orderService.createOrder(new CreateOrderRequest(customer.getId(), List.of(
+                new OrderItemRequest(catalogItem.getId(), 2))));
+        OrderResponse cancelled = orderService.createOrder(new CreateOrderRequest(customer.getId(), List.of(
+                new OrderItemRequest(catalogItem.getId(), 1))));
+        orderService.createOrders(List.of(new CreateOrderRequest(customer.getId(), List.of(
+                new OrderItemRequest(catalogItem.getId(), 4)))));
+        orderService.cancelOrder(cancelled.id());
+        LocalDate today = LocalDate.now();
+
+        // When
+        SalesSummaryResponse summary = dailySalesSummaryService.getSummary(today, today, "CREATED");
+        entityManager.clear();
+        SalesSummaryResponse rebuilt = dailySalesSummaryService.rebuild(today, today);
+
+        // Then
+        assertEquals(2, summary.orderCount());
+        assertEquals(6, summary.itemUnits());
+        assertEquals(0, new BigDecimal("153.00").compareTo(summary.subtotal()));
+        assertEquals(0, new BigDecimal("175.95").compareTo(summary.total()));
+
+        assertEquals(3, rebuilt.orderCount());
+        assertEquals(List.of("CANCELLED", "CREATED"), rebuilt.days().stream().map(SalesSummaryResponse.Day::status).toList());
+        SalesSummaryResponse.Day cancelledDay = rebuilt.days().get(0);
+        assertEquals(1, cancelledDay.orderCount());
+        assertEquals(0, new BigDecimal("3.83").compareTo(cancelledDay.vat()));
+        assertEquals(0, summary.total().compareTo(rebuilt.days().get(1).total()));
+    }
+
+    @Test
+    void updateCustomer_EvictsCachedName() {
+        // Given
+        assertEquals("Integration Test Customer", customerNameLookup.findName(customer.getId()));
+
+        // When
+        customer.setName("Renamed Customer");
+        customerRepository.saveAndFlush(customer);
+
+        // Then
+        assertEquals("Renamed Customer", customerNameLookup.findName(customer.getId()));
+    }
+}
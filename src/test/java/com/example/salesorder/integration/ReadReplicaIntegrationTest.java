@@ -0,0 +1,182 @@
+package com.example.salesorder.integration;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.domain.SalesOrder;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderQueryParams;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.repository.CatalogItemRepository;
+import com.example.salesorder.repository.CustomerRepository;
+import com.example.salesorder.repository.DailySalesSummaryRepository;
+import com.example.salesorder.repository.OrderEventRepository;
+import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a primary and a replica H2 database. Nothing replicates between them, so
+ * {@link #replicate()} copies the primary to the replica where a test needs it. Not
+ * transactional: reads use their own read-only transactions.
+ */
+@SpringBootTest(properties = {
+        "app.read-replicas.urls=" + ReadReplicaIntegrationTest.REPLICA_URL,
+        "app.read-replicas.read-your-writes-window=1h"
+})
+@ActiveProfiles("test")
+class ReadReplicaIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CatalogItemRepository catalogItemRepository;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    private CreateOrderRequest request;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cleanUp();
+        Customer customer = customerRepository.save(new Customer("Replica Test Customer"));
+        CatalogItem item = catalogItemRepository.save(new CatalogItem("SKU-REP-001", "Replicated Item", BigDecimal.TEN));
+        request = new CreateOrderRequest(customer.getId(), List.of(new OrderItemRequest(item.getId(), 1)));
+        replicate();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderEventRepository.deleteAll();
+        dailySalesSummaryRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        catalogItemRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void listOrders_ReadsFromReplica() throws Exception {
+        // Given
+        orderService.createOrder(request);
+        OrderQueryParams params = new OrderQueryParams(null, null, null, null, 0, 20, null, null, null);
+
+        // When
+        long beforeReplication = orderService.listOrders(params).totalElements();
+        replicate();
+        long afterReplication = orderService.listOrders(params).totalElements();
+
+        // Then
+        assertEquals(0, beforeReplication);
+        assertEquals(1, afterReplication);
+    }
+
+    @Test
+    void getOrderById_NotWrittenRecently_ReadsReplica() throws Exception {
+        // Given
+        SalesOrder order = saveOrderBypassingService();
+        replicate();
+        // A change made by another instance, not replicated yet
+        order.setStatus("SHIPPED");
+        salesOrderRepository.save(order);
+
+        // When
+        OrderResponse byId = orderService.getOrderById(order.getId());
+        OrderResponse byReference = orderService.getOrderByReference(order.getOrderReference());
+
+        // Then
+        assertEquals("CREATED", byId.status());
+        assertEquals("CREATED", byReference.status());
+    }
+
+    @Test
+    void getOrderById_MissingOnReplica_FallsBackToPrimary() {
+        // Given
+        SalesOrder order = saveOrderBypassingService();
+
+        // When
+        OrderResponse found = orderService.getOrderById(order.getId());
+
+        // Then
+        assertEquals(order.getId(), found.id());
+    }
+
+    @Test
+    void cancelOrder_ThenRead_SeesOwnWrite() throws Exception {
+        // Given
+        OrderResponse created = orderService.createOrder(request);
+        replicate();
+
+        // When
+        orderService.cancelOrder(created.id());
+        OrderResponse byId = orderService.getOrderById(created.id());
+        OrderResponse byReference = orderService.getOrderByReference(created.orderReference());
+
+        // Then
+        assertEquals("CANCELLED", byId.status());
+        assertEquals("CANCELLED", byReference.status());
+    }
+
+    private SalesOrder saveOrderBypassingService() {
+        SalesOrder order = new SalesOrder();
+        order.setCustomerId(request.customerId());
+        order.setSubtotal(BigDecimal.TEN);
+        order.setVat(BigDecimal.ONE);
+        order.setTotal(BigDecimal.valueOf(11));
+        order.setStatus("CREATED");
+        return salesOrderRepository.save(order);
+    }
+
+    /**
+     * Stands in for replication: replaces the replica with a copy of the primary.
+     */
+    private void replicate() throws SQLException, IOException {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+                 Statement statement = primary.createStatement()) {
+                statement.execute("SCRIPT TO '" + script + "'");
+            }
+            try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+                 Statement statement = replica.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM '" + script + "'");
+            }
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.salesorder.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate prepares, so tests can {@code EXPLAIN} the statements a repository
+ * actually runs. Registered with {@code hibernate.session_factory.statement_inspector}.
+ */
+public class CapturedStatements implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Returns the first captured query reading from {@code table}, skipping flushed inserts and
+     * sequence calls.
+     */
+    static String firstQueryFrom(String table) {
+        return statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .filter(sql -> sql.toLowerCase().contains(" from " + table + " "))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No query from " + table + " was captured"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.salesorder.repository;
+
+import com.example.salesorder.domain.Customer;
+import com.example.salesorder.domain.SalesOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.salesorder.repository.CapturedStatements")
+@ActiveProfiles("test")
+@Transactional
+class SalesOrderRepositoryTest {
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private SalesOrder oldOrder;
+    private SalesOrder recentOrder;
+    private SalesOrder cancelledOrder;
+
+    @BeforeEach
+    void setUp() {
+        salesOrderRepository.deleteAll();
+        Long customerId = customerRepository.save(new Customer("Repository Test Customer")).getId();
+
+        oldOrder = salesOrderRepository.save(order(customerId, now.minus(10, ChronoUnit.DAYS), null));
+        recentOrder = salesOrderRepository.save(order(customerId, now.minus(1, ChronoUnit.DAYS), null));
+        cancelledOrder = salesOrderRepository.save(order(customerId, now.minus(5, ChronoUnit.DAYS), now.minus(2, ChronoUnit.DAYS)));
+    }
+
+    @Test
+    void findIdsByFilter_NoFilters_ReturnsAllSorted() {
+        // When
+        Page<Long> page = salesOrderRepository.findIdsByFilter(
+                new OrderFilter(null, null, null, null),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        // Then
+        assertEquals(List.of(recentOrder.getId(), cancelledOrder.getId(), oldOrder.getId()), page.getContent());
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void findIdsByFilter_CreationRange_AppliesOnlyActivePredicates() {
+        // When
+        Page<Long> page = salesOrderRepository.findIdsByFilter(
+                new OrderFilter(now.minus(6, ChronoUnit.DAYS), null, null, null),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "createdAt")));
+
+        // Then
+        assertEquals(List.of(cancelledOrder.getId()), page.getContent());
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void findIdsByFilter_CancellationRange_KeepsOrdersThatWereNeverCancelled() {
+        // When
+        Page<Long> page = salesOrderRepository.findIdsByFilter(
+                new OrderFilter(null, null, now.minus(1, ChronoUnit.DAYS), null),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "createdAt")));
+
+        // Then
+        assertEquals(List.of(oldOrder.getId(), recentOrder.getId()), page.getContent());
+    }
+
+    @Test
+    void creationDateFilter_UsesCreatedAtIndex() {
+        String plan = explainFindIdsByFilter(new OrderFilter(now.minus(30, ChronoUnit.DAYS), now, null, null));
+
+        assertTrue(plan.contains("IDX_SALES_ORDER_CREATED_AT"), plan);
+    }
+
+    @Test
+    void cancellationDateFilter_UsesCancelledAtIndex() {
+        String plan = explainFindIdsByFilter(new OrderFilter(null, null, now.minus(30, ChronoUnit.DAYS), now));
+
+        assertTrue(plan.contains("IDX_SALES_ORDER_CANCELLED_AT"), plan);
+        assertFalse(plan.contains("IS NULL"), plan);
+    }
+
+    @Test
+    void itemLookupForPage_UsesOrderIdIndex() {
+        String plan = explain("SELECT * FROM order_item WHERE order_id IN (1, 2, 3)");
+
+        assertTrue(plan.contains("IDX_ORDER_ITEM_ORDER_ID"), plan);
+    }
+
+    /**
+     * Explains the page query {@code findIdsByFilter} runs for the filter, as the listing sorts it.
+     */
+    private String explainFindIdsByFilter(OrderFilter filter) {
+        CapturedStatements.clear();
+        salesOrderRepository.findIdsByFilter(filter,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"))));
+        return explain(CapturedStatements.firstQueryFrom("sales_order"));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+
+    private SalesOrder order(Long customerId, Instant createdAt, Instant cancelledAt) {
+        SalesOrder order = new SalesOrder();
+        order.setCustomerId(customerId);
+        order.setSubtotal(BigDecimal.TEN);
+        order.setVat(BigDecimal.ONE);
+        order.setTotal(BigDecimal.valueOf(11));
+        order.setCreatedAt(createdAt);
+        order.setCancelledAt(cancelledAt);
+        order.setStatus(cancelledAt != null ? "CANCELLED" : "CREATED");
+        return order;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.domain.CatalogItem;
+import com.example.salesorder.repository.CatalogItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogItemCacheTest {
+
+    @Mock
+    private CatalogItemRepository catalogItemRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CatalogItemCache catalogItemCache;
+    private CatalogItem widget;
+    private CatalogItem gadget;
+
+    @BeforeEach
+    void setUp() {
+        catalogItemCache = new CatalogItemCache(catalogItemRepository, meterRegistry, 100, Duration.ofMinutes(10));
+
+        widget = new CatalogItem("SKU-001", "Widget", BigDecimal.valueOf(10.00));
+        widget.setId(1L);
+        gadget = new CatalogItem("SKU-002", "Gadget", BigDecimal.valueOf(20.00));
+        gadget.setId(2L);
+    }
+
+    @Test
+    void getAll_LoadsOnlyMissingItems() {
+        // Given
+        when(catalogItemRepository.findAllById(List.of(1L))).thenReturn(List.of(widget));
+        when(catalogItemRepository.findAllById(List.of(2L))).thenReturn(List.of(gadget));
+        catalogItemCache.getAll(List.of(1L));
+
+        // When
+        Map<Long, CatalogItemCache.CachedItem> items = catalogItemCache.getAll(List.of(1L, 2L));
+
+        // Then
+        assertEquals(2, items.size());
+        verify(catalogItemRepository, times(1)).findAllById(List.of(1L));
+        assertEquals(1, catalogItemCache.stats().hitCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "catalog", "result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void getAll_AllCached_DoesNotQueryRepository() {
+        // Given
+        when(catalogItemRepository.findAllById(List.of(1L))).thenReturn(List.of(widget));
+        catalogItemCache.getAll(List.of(1L));
+
+        // When
+        catalogItemCache.getAll(List.of(1L));
+
+        // Then
+        verify(catalogItemRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getAll_UnknownItem_IsAbsent() {
+        // Given
+        when(catalogItemRepository.findAllById(List.of(99L))).thenReturn(List.of());
+
+        // When & Then
+        assertTrue(catalogItemCache.getAll(List.of(99L)).isEmpty());
+    }
+
+    @Test
+    void evict_ReloadsChangedPrice() {
+        // Given
+        when(catalogItemRepository.findAllById(List.of(1L))).thenReturn(List.of(widget));
+        catalogItemCache.getAll(List.of(1L));
+
+        // When
+        widget.setPrice(BigDecimal.valueOf(12.00));
+        catalogItemCache.evict(1L);
+
+        // Then
+        assertEquals(BigDecimal.valueOf(12.00), catalogItemCache.getAll(List.of(1L)).get(1L).price());
+    }
+
+    @Test
+    void getAll_LoadStartedBeforeEviction_IsNotCached() throws Exception {
+        // Given a load that read the old price and is still running when the item is evicted
+        CatalogItem oldWidget = new CatalogItem("SKU-001", "Widget", BigDecimal.valueOf(10.00));
+        oldWidget.setId(1L);
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(catalogItemRepository.findAllById(List.of(1L)))
+                .thenAnswer(invocation -> {
+                    loaded.countDown();
+                    assertTrue(evicted.await(5, TimeUnit.SECONDS));
+                    return List.of(oldWidget);
+                })
+                .thenReturn(List.of(widget));
+        CompletableFuture<Map<Long, CatalogItemCache.CachedItem>> slowLoad =
+                CompletableFuture.supplyAsync(() -> catalogItemCache.getAll(List.of(1L)));
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+        // When
+        widget.setPrice(BigDecimal.valueOf(12.00));
+        catalogItemCache.evict(1L);
+        evicted.countDown();
+
+        // Then the slow reader gets what it read, later readers the new price
+        assertEquals(BigDecimal.valueOf(10.00), slowLoad.get(5, TimeUnit.SECONDS).get(1L).price());
+        assertEquals(BigDecimal.valueOf(12.00), catalogItemCache.getAll(List.of(1L)).get(1L).price());
+        verify(catalogItemRepository, times(2)).findAllById(List.of(1L));
+    }
+}
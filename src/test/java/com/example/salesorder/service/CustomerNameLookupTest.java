@@ -0,0 +1,120 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.repository.CustomerName;
+import com.example.salesorder.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerNameLookupTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerNameLookup customerNameLookup;
+
+    @BeforeEach
+    void setUp() {
+        customerNameLookup = new CustomerNameLookup(customerRepository, 1024, Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void findNames_LoadsOnlyMissingCustomersWithOneQuery() {
+        // Given
+        when(customerRepository.findNamesByIdIn(List.of(1L))).thenReturn(List.of(new CustomerName(1L, "Alice")));
+        when(customerRepository.findNamesByIdIn(List.of(2L, 3L))).thenReturn(List.of(new CustomerName(2L, "Bob")));
+        customerNameLookup.findName(1L);
+
+        // When
+        Map<Long, String> names = customerNameLookup.findNames(List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(Map.of(1L, "Alice", 2L, "Bob"), names);
+        verify(customerRepository, times(2)).findNamesByIdIn(any());
+    }
+
+    @Test
+    void findName_UnknownCustomer_IsCachedAsAbsent() {
+        // Given
+        when(customerRepository.findNamesByIdIn(List.of(99L))).thenReturn(List.of());
+
+        // When
+        String first = customerNameLookup.findName(99L);
+        String second = customerNameLookup.findName(99L);
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        verify(customerRepository, times(1)).findNamesByIdIn(any());
+    }
+
+    @Test
+    void evict_ReloadsChangedName() {
+        // Given
+        when(customerRepository.findNamesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new CustomerName(1L, "Alice")))
+                .thenReturn(List.of(new CustomerName(1L, "Alice Smith")));
+        customerNameLookup.findName(1L);
+
+        // When
+        customerNameLookup.evict(1L);
+
+        // Then
+        assertEquals("Alice Smith", customerNameLookup.findName(1L));
+    }
+
+    @Test
+    void loadNames_CachedCustomer_ReadsDatabase() {
+        // Given
+        when(customerRepository.findNamesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new CustomerName(1L, "Alice")))
+                .thenReturn(List.of());
+        customerNameLookup.findName(1L);
+
+        // When
+        Map<Long, String> names = customerNameLookup.loadNames(List.of(1L));
+
+        // Then
+        assertTrue(names.isEmpty());
+        assertNull(customerNameLookup.findName(1L));
+        verify(customerRepository, times(2)).findNamesByIdIn(any());
+    }
+
+    @Test
+    void findNames_LoadStartedBeforeEviction_IsNotCached() throws Exception {
+        // Given a load that read the old name and is still running when the customer is evicted
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(customerRepository.findNamesByIdIn(List.of(1L)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    assertTrue(evicted.await(5, TimeUnit.SECONDS));
+                    return List.of(new CustomerName(1L, "Alice"));
+                })
+                .thenReturn(List.of(new CustomerName(1L, "Alice Smith")));
+        CompletableFuture<String> slowLoad = CompletableFuture.supplyAsync(() -> customerNameLookup.findName(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When
+        customerNameLookup.evict(1L);
+        evicted.countDown();
+
+        // Then
+        assertEquals("Alice", slowLoad.get(5, TimeUnit.SECONDS));
+        assertEquals("Alice Smith", customerNameLookup.findName(1L));
+    }
+}
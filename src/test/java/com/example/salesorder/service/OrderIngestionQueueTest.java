@@ -0,0 +1,181 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.dto.BatchOrderResponse;
+import com.example.salesorder.dto.CreateOrderRequest;
+import com.example.salesorder.dto.OrderItemRequest;
+import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.exception.NotFoundException;
+import com.example.salesorder.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestionQueueTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OrderIngestionQueue queue;
+    private final CreateOrderRequest request = new CreateOrderRequest(1L, List.of(new OrderItemRequest(10L, 1)));
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void createOrder_QueuedTogether_CommitsOneGroup() throws Exception {
+        // Given
+        start(2, 10, Duration.ofSeconds(5));
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> BatchOrderResponse.of(List.of(
+                    BatchOrderResponse.Result.created(0, order(1L)),
+                BatchOrderResponse.Result.failed(1, "Catalog item not found: 10"))));
+
+        // When
+        CompletableFuture<OrderResponse> first = CompletableFuture.supplyAsync(() -> queue.createOrder(request));
+        CompletableFuture<OrderResponse> second = CompletableFuture.supplyAsync(() -> queue.createOrder(request));
+
+        // Then
+        OrderResponse created = null;
+        ExecutionException failed = null;
+        for (CompletableFuture<OrderResponse> result : List.of(first, second)) {
+            try {
+                created = result.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failed = e;
+            }
+        }
+        assertEquals(1L, created.id());
+        assertInstanceOf(NotFoundException.class, failed.getCause());
+        verify(orderService, times(1)).createOrders(anyList());
+    }
+
+    @Test
+    void createOrder_GroupFails_CreatesOrdersOneByOne() throws Exception {
+        // Given
+        start(2, 10, Duration.ofSeconds(5));
+        when(orderService.createOrders(anyList())).thenThrow(new IllegalStateException("constraint violated"));
+        when(orderService.createOrder(request)).thenReturn(order(1L));
+
+        // When
+        CompletableFuture<OrderResponse> first = CompletableFuture.supplyAsync(() -> queue.createOrder(request));
+        CompletableFuture<OrderResponse> second = CompletableFuture.supplyAsync(() -> queue.createOrder(request));
+
+        // Then
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).id());
+        assertEquals(1L, second.get(5, TimeUnit.SECONDS).id());
+        verify(orderService, times(2)).createOrder(request);
+    }
+
+    @Test
+    void createOrder_SingleOrderGroupFails_ThrowsCause() {
+        // Given
+        start(1, 10, Duration.ofSeconds(5));
+        when(orderService.createOrders(anyList())).thenThrow(new IllegalStateException("constraint violated"));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> queue.createOrder(request));
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void createOrder_QueueFull_RejectsWithServiceUnavailable() throws Exception {
+        // Given
+        start(1, 1, Duration.ofMillis(1));
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            return BatchOrderResponse.of(List.of(BatchOrderResponse.Result.created(0, order(1L))));
+        });
+        CompletableFuture<OrderResponse> inCommit = CompletableFuture.supplyAsync(() -> queue.createOrder(request));
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<OrderResponse> queued = CompletableFuture.supplyAsync(() -> queue.createOrder(request));
+        while (registry.get("orders.ingestion.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When / Then
+        assertThrows(ServiceUnavailableException.class, () -> queue.createOrder(request));
+        release.countDown();
+        assertEquals(1L, inCommit.get(5, TimeUnit.SECONDS).id());
+        assertEquals(1L, queued.get(5, TimeUnit.SECONDS).id());
+    }
+
+    @Test
+    void createOrder_WriterError_FailsGroupAndKeepsDraining() {
+        // Given
+        start(1, 10, Duration.ofSeconds(5));
+        when(orderService.createOrders(anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(BatchOrderResponse.of(List.of(BatchOrderResponse.Result.created(0, order(1L)))));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> queue.createOrder(request));
+        assertEquals(1L, queue.createOrder(request).id());
+        assertTrue(queue.isRunning());
+    }
+
+    @Test
+    void createOrder_MissingFromGroupResults_FailsWithoutWaitingForTimeout() {
+        // Given
+        start(1, 10, Duration.ofSeconds(5));
+        when(orderService.createOrders(anyList())).thenReturn(BatchOrderResponse.of(List.of()));
+
+        // When
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> queue.createOrder(request));
+
+        // Then
+        assertEquals("Group commit returned no result for the order", e.getMessage());
+        assertTrue(queue.isRunning());
+    }
+
+    @Test
+    void createOrder_NotCommittedInTime_ThrowsServiceUnavailable() throws Exception {
+        // Given
+        start(1, 10, Duration.ofMillis(1), Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return BatchOrderResponse.of(List.of(BatchOrderResponse.Result.created(0, order(1L))));
+        });
+
+        // When / Then
+        assertThrows(ServiceUnavailableException.class, () -> queue.createOrder(request));
+        release.countDown();
+    }
+
+    private void start(int maxGroupSize, int capacity, Duration maxDelay) {
+        start(maxGroupSize, capacity, maxDelay, Duration.ofSeconds(30));
+    }
+
+    private void start(int maxGroupSize, int capacity, Duration maxDelay, Duration resultTimeout) {
+        queue = new OrderIngestionQueue(orderService, registry,
+                capacity, maxGroupSize, maxDelay, Duration.ofMillis(20), resultTimeout);
+        queue.start();
+    }
+
+    private static OrderResponse order(Long id) {
+        return new OrderResponse(id, "ref-" + id, 1L, "Test Customer", List.of(),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, "01/01/2024", null, "CREATED");
+    }
+}
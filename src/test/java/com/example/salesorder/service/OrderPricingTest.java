@@ -0,0 +1,60 @@
+package com.example.salesorder.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderPricingTest {
+
+    private final OrderPricing orderPricing = new OrderPricing(new BigDecimal("0.15"));
+
+    @Test
+    void calculation_RoundsVatOnceHalfUp() {
+        // Given
+        OrderPricing.Calculation calculation = orderPricing.newCalculation();
+        BigDecimal price = new BigDecimal("8.50");
+
+        // When
+        BigDecimal line = calculation.addLine(OrderPricing.toMinorUnits(price), price, 3);
+
+        // Then
+        assertEquals(new BigDecimal("25.50"), line);
+        assertEquals(new BigDecimal("25.50"), calculation.subtotal());
+        assertEquals(new BigDecimal("3.83"), calculation.vat()); // 3.825
+        assertEquals(new BigDecimal("29.33"), calculation.total());
+    }
+
+    @Test
+    void calculation_Overflow_FallsBackToBigDecimal() {
+        // Given
+        OrderPricing.Calculation calculation = orderPricing.newCalculation();
+        BigDecimal small = new BigDecimal("1.10");
+        BigDecimal huge = new BigDecimal("90000000000000000.00");
+        calculation.addLine(OrderPricing.toMinorUnits(small), small, 1);
+
+        // When
+        BigDecimal line = calculation.addLine(OrderPricing.toMinorUnits(huge), huge, 1000);
+
+        // Then
+        assertEquals(0, new BigDecimal("90000000000000000000.00").compareTo(line));
+        assertEquals(0, new BigDecimal("90000000000000000001.10").compareTo(calculation.subtotal()));
+        assertEquals(new BigDecimal("13500000000000000000.17"), calculation.vat()); // 0.165
+    }
+
+    @Test
+    void calculation_FractionalCentPrice_MatchesExactArithmetic() {
+        // Given
+        OrderPricing.Calculation calculation = orderPricing.newCalculation();
+        BigDecimal price = new BigDecimal("0.333");
+
+        // When
+        calculation.addLine(OrderPricing.toMinorUnits(price), price, 3);
+
+        // Then
+        assertEquals(OrderPricing.NOT_IN_MINOR_UNITS, OrderPricing.toMinorUnits(price));
+        assertEquals(0, new BigDecimal("0.999").compareTo(calculation.subtotal()));
+        assertEquals(new BigDecimal("0.15"), calculation.vat()); // 0.14985
+    }
+}
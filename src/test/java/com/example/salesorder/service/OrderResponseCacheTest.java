@@ -0,0 +1,108 @@
+package com.example.salesorder.service;
+
+import com.example.salesorder.dto.OrderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderResponseCacheTest {
+
+    private OrderResponseCache orderResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        orderResponseCache = new OrderResponseCache(new ObjectMapper(), new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_CachesLoadedEntry() {
+        // Given
+        orderResponseCache.get(1L, () -> entry(0L, "CREATED"));
+
+        // When
+        OrderResponseCache.Entry cached = orderResponseCache.get(1L, () -> fail("loaded twice"));
+
+        // Then
+        assertEquals(0L, cached.version());
+    }
+
+    @Test
+    void get_SlowReadRacingWithCancel_IsNotCachedAfterCommit() throws Exception {
+        // Given a cancel that has evicted the order but not committed yet
+        TransactionSynchronizationManager.initSynchronization();
+        orderResponseCache.evict(1L);
+
+        // and a reader that loads the order before the commit
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        CompletableFuture<OrderResponseCache.Entry> slowRead = CompletableFuture.supplyAsync(() ->
+                orderResponseCache.get(1L, () -> {
+                    loading.countDown();
+                    await(committed);
+                    return entry(0L, "CREATED");
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When the cancel commits while the read is in flight
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        committed.countDown();
+        assertEquals(0L, slowRead.get(5, TimeUnit.SECONDS).version());
+
+        // Then the next reader loads the cancelled order
+        OrderResponseCache.Entry afterCancel = orderResponseCache.get(1L, () -> entry(1L, "CANCELLED"));
+        assertEquals(1L, afterCancel.version());
+    }
+
+    @Test
+    void encoded_EncodesOncePerFormat() {
+        // Given
+        OrderResponseCache.Entry entry = entry(0L, "CREATED");
+        AtomicInteger encodings = new AtomicInteger();
+
+        // When
+        byte[] first = entry.encoded("cbor", json -> {
+            encodings.incrementAndGet();
+            return new byte[]{1};
+        });
+        byte[] second = entry.encoded("cbor", json -> fail("encoded twice"));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, encodings.get());
+    }
+
+    private OrderResponseCache.Entry entry(long version, String status) {
+        return orderResponseCache.entry(version, new OrderResponse(1L, "ORD-1", 1L, "Alice", List.of(),
+                BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(11), null, null, status));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
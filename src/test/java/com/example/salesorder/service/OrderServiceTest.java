@@ -6,19 +6,25 @@ import com.example.salesorder.domain.SalesOrder;
 import com.example.salesorder.dto.CreateOrderRequest;
 import com.example.salesorder.dto.OrderItemRequest;
 import com.example.salesorder.dto.OrderResponse;
+import com.example.salesorder.exception.ConflictException;
 import com.example.salesorder.exception.NotFoundException;
-import com.example.salesorder.repository.CatalogItemRepository;
-import com.example.salesorder.repository.CustomerRepository;
 import com.example.salesorder.repository.SalesOrderRepository;
+import com.example.salesorder.util.BusinessTimeZone;
+import com.example.salesorder.util.DateFormatter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,13 +35,40 @@ import static org.mockito.Mockito.*;
 class OrderServiceTest {
 
     @Mock
-    private CatalogItemRepository catalogItemRepository;
+    private CatalogItemCache catalogItemCache;
 
     @Mock
     private SalesOrderRepository salesOrderRepository;
 
     @Mock
-    private CustomerRepository customerRepository;
+    private CustomerNameLookup customerNameLookup;
+
+    @Mock
+    private OrderMetrics orderMetrics;
+
+    @Mock
+    private DailySalesSummaryService dailySalesSummaryService;
+
+    @Mock
+    private OrderResponseCache orderResponseCache;
+
+    @Mock
+    private OrderEventOutbox orderEventOutbox;
+
+    @Mock
+    private RecentOrderWrites recentOrderWrites;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private OrderPricing orderPricing = new OrderPricing(new BigDecimal("0.15"));
+
+    @Spy
+    private BusinessTimeZone businessTimeZone = new BusinessTimeZone("UTC");
+
+    @Spy
+    private DateFormatter dateFormatter = new DateFormatter(ZoneId.of("UTC"), DateFormatter.Style.DAY_MONTH_YEAR);
 
     @InjectMocks
     private OrderService orderService;
@@ -45,15 +78,6 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Set VAT rate using reflection since it's @Value injected
-        try {
-            java.lang.reflect.Field vatRateField = OrderService.class.getDeclaredField("vatRate");
-            vatRateField.setAccessible(true);
-            vatRateField.set(orderService, BigDecimal.valueOf(0.15));
-        } catch (Exception e) {
-            // Ignore if reflection fails
-        }
-        
         customer = new Customer("Test Customer");
         customer.setId(1L);
 
@@ -77,9 +101,8 @@ class OrderServiceTest {
         savedOrder.setTotal(BigDecimal.valueOf(23.00));
         savedOrder.setStatus("CREATED");
 
-        when(customerRepository.existsById(1L)).thenReturn(true);
-        when(catalogItemRepository.findAllById(any())).thenReturn(List.of(catalogItem));
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerNameLookup.loadNames(List.of(1L))).thenReturn(Map.of(1L, customer.getName()));
+        when(catalogItemCache.getAll(any())).thenReturn(Map.of(1L, CatalogItemCache.CachedItem.from(catalogItem)));
         when(salesOrderRepository.save(any(SalesOrder.class))).thenAnswer(invocation -> {
             SalesOrder order = invocation.getArgument(0);
             order.setId(1L);
@@ -109,7 +132,7 @@ class OrderServiceTest {
                 List.of(new OrderItemRequest(1L, 2))
         );
 
-        when(customerRepository.existsById(1L)).thenReturn(false);
+        when(customerNameLookup.loadNames(List.of(1L))).thenReturn(Map.of());
 
         // When & Then
         assertThrows(NotFoundException.class, () -> orderService.createOrder(request));
@@ -125,7 +148,7 @@ class OrderServiceTest {
         order.setStatus("CREATED");
 
         when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerNameLookup.findName(1L)).thenReturn(customer.getName());
 
         // When
         OrderResponse response = orderService.getOrderById(1L);
@@ -152,9 +175,11 @@ class OrderServiceTest {
         order.setCustomerId(1L);
         order.setStatus("CREATED");
 
+        order.setVersion(3L);
+
         when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(salesOrderRepository.save(any(SalesOrder.class))).thenReturn(order);
+        when(salesOrderRepository.cancelIfUnchanged(eq(1L), eq(3L), any(Instant.class))).thenReturn(1);
+        when(customerNameLookup.findName(1L)).thenReturn(customer.getName());
 
         // When
         OrderResponse response = orderService.cancelOrder(1L);
@@ -162,7 +187,77 @@ class OrderServiceTest {
         // Then
         assertNotNull(response);
         assertEquals("CANCELLED", response.status());
-        verify(salesOrderRepository, times(1)).save(order);
+        assertEquals(4L, order.getVersion());
+        verify(salesOrderRepository, never()).save(any());
+        verify(dailySalesSummaryService).recordCancelled(order, "CREATED");
+        verify(orderResponseCache).evict(1L);
+        verify(orderEventOutbox).recordCancelled(order);
     }
-}
 
+    @Test
+    void cancelOrder_AlreadyCancelled_ReturnsOrderWithoutSideEffects() {
+        // Given
+        SalesOrder order = new SalesOrder();
+        order.setId(1L);
+        order.setCustomerId(1L);
+        order.setStatus("CANCELLED");
+
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(customerNameLookup.findName(1L)).thenReturn(customer.getName());
+
+        // When
+        OrderResponse response = orderService.cancelOrder(1L);
+
+        // Then
+        assertEquals("CANCELLED", response.status());
+        verify(salesOrderRepository, never()).cancelIfUnchanged(any(), any(), any());
+        verifyNoInteractions(dailySalesSummaryService, orderEventOutbox);
+    }
+
+    @Test
+    void cancelOrder_ConcurrentlyCancelled_ReturnsOrderWithoutConflict() {
+        // Given
+        SalesOrder order = new SalesOrder();
+        order.setId(1L);
+        order.setCustomerId(1L);
+        order.setStatus("CREATED");
+        order.setVersion(0L);
+
+        SalesOrder cancelled = new SalesOrder();
+        cancelled.setId(1L);
+        cancelled.setCustomerId(1L);
+        cancelled.setStatus("CANCELLED");
+        cancelled.setVersion(1L);
+
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(order), Optional.of(cancelled));
+        when(salesOrderRepository.cancelIfUnchanged(eq(1L), eq(0L), any(Instant.class))).thenReturn(0);
+        when(customerNameLookup.findName(1L)).thenReturn(customer.getName());
+
+        // When
+        OrderResponse response = orderService.cancelOrder(1L);
+
+        // Then
+        assertEquals("CANCELLED", response.status());
+        verify(salesOrderRepository, times(1)).cancelIfUnchanged(eq(1L), eq(0L), any(Instant.class));
+        verify(orderMetrics, never()).recordCancelConflict();
+        verifyNoInteractions(dailySalesSummaryService, orderEventOutbox);
+    }
+
+    @Test
+    void cancelOrder_ConcurrentlyModified_RetriesThenThrowsConflict() {
+        // Given
+        SalesOrder order = new SalesOrder();
+        order.setId(1L);
+        order.setStatus("CREATED");
+        order.setVersion(0L);
+
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(salesOrderRepository.cancelIfUnchanged(eq(1L), eq(0L), any(Instant.class))).thenReturn(0);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> orderService.cancelOrder(1L));
+        verify(salesOrderRepository, times(OrderService.CANCEL_MAX_ATTEMPTS)).cancelIfUnchanged(eq(1L), eq(0L), any(Instant.class));
+        verify(orderMetrics, times(OrderService.CANCEL_MAX_ATTEMPTS)).recordCancelConflict();
+        verifyNoInteractions(dailySalesSummaryService, orderEventOutbox);
+    }
+}
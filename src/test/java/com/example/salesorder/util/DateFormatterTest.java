@@ -0,0 +1,49 @@
+package com.example.salesorder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateFormatterTest {
+
+    @Test
+    void formatInstant_UsesBusinessTimeZone() {
+        // Given
+        DateFormatter berlin = new DateFormatter(new BusinessTimeZone("Europe/Berlin"), DateFormatter.Style.DAY_MONTH_YEAR);
+        DateFormatter newYork = new DateFormatter(ZoneId.of("America/New_York"), DateFormatter.Style.DAY_MONTH_YEAR);
+        Instant instant = Instant.parse("2024-01-14T23:30:00Z");
+
+        // When & Then
+        assertEquals("15/01/2024", berlin.formatInstant(instant));
+        assertEquals("14/01/2024", newYork.formatInstant(instant));
+        assertEquals("31/03/2024", berlin.formatInstant(Instant.parse("2024-03-31T21:59:59Z"))); // CEST
+        assertEquals("01/04/2024", berlin.formatInstant(Instant.parse("2024-03-31T22:00:00Z")));
+    }
+
+    @Test
+    void formatInstant_IsoStyle() {
+        // Given
+        DateFormatter formatter = new DateFormatter(ZoneId.of("UTC"), DateFormatter.Style.ISO);
+
+        // When & Then
+        assertEquals("2024-01-15", formatter.formatInstant(Instant.parse("2024-01-15T10:30:00Z")));
+        assertNull(formatter.formatInstant(null));
+    }
+
+    @Test
+    void formatInstant_DaysSharingACacheSlotAreNotConfused() {
+        // Given
+        DateFormatter formatter = new DateFormatter(ZoneId.of("UTC"), DateFormatter.Style.ISO);
+        Instant day = Instant.parse("2024-01-15T10:30:00Z");
+        Instant sameSlot = day.plusSeconds(4096L * 86_400);
+
+        // When & Then
+        assertEquals("2024-01-15", formatter.formatInstant(day));
+        assertEquals("2035-04-03", formatter.formatInstant(sameSlot));
+        assertEquals("2024-01-15", formatter.formatInstant(day));
+        assertEquals("1969-12-31", formatter.formatInstant(Instant.ofEpochSecond(-1)));
+    }
+}